@@ -11,14 +11,17 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.StringUtils;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.reader.UnicodeReader;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 
@@ -302,20 +305,42 @@ public class ModuleAndWorkerAwareSpringApplication extends SpringApplication {
             loaderOptions.setAllowDuplicateKeys(false);
             final var yaml = new Yaml(loaderOptions);
 
-            try (final var yamlStream = resource.getInputStream()) {
+            try (final var yamlStream = new UnicodeReader(resource.getInputStream())) {
+
+                // stream events instead of loading the entire yaml since
+                // only the top-level keys are of interest
+                var depth = 0;
+                var keyExpected = true;
+                for (final var event : yaml.parse(yamlStream)) {
+
+                    if (event instanceof CollectionStartEvent) {
+                        if ((depth == 0)
+                                && !(event instanceof MappingStartEvent)) {
+                            return null;
+                        }
+                        ++depth;
+                    } else if (event instanceof CollectionEndEvent) {
+                        --depth;
+                        if (depth == 0) {
+                            return null;
+                        }
+                        if (depth == 1) {
+                            keyExpected = true;
+                        }
+                    } else if (depth != 1) {
+                        continue;
+                    } else if (!keyExpected) {
+                        keyExpected = true;
+                    } else if (event instanceof ScalarEvent key) {
+                        if (resource.getFilename().startsWith(key.getValue())) {
+                            return key.getValue();
+                        }
+                        keyExpected = false;
+                    }
 
-                Map<String, Object> content = yaml.load(yamlStream);
-                if (content == null) {
-                    return null;
                 }
 
-                return content
-                        .entrySet()
-                        .stream()
-                        .filter(entry -> resource.getFilename().startsWith(entry.getKey()))
-                        .findFirst()
-                        .map(Entry::getKey)
-                        .orElse(null);
+                return null;
 
             }
 
@@ -2,6 +2,8 @@ package io.vanillabp.springboot.adapter;
 
 import io.vanillabp.spi.process.ProcessService;
 import io.vanillabp.springboot.modules.WorkflowModuleProperties;
+import io.vanillabp.springboot.utils.ClasspathScannerCacheRelease;
+import io.vanillabp.springboot.utils.SpringDataUtilPrewarming;
 import jakarta.annotation.PostConstruct;
 import java.lang.reflect.ParameterizedType;
 import java.util.HashMap;
@@ -11,11 +13,16 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InjectionPoint;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Scope;
 
@@ -133,4 +140,109 @@ public class AdapterAwareProcessServiceConfiguration {
             
     }
 
+    @Bean
+    public static SpringDataUtilPrewarming vanillaBpSpringDataUtilPrewarming(
+            final ApplicationContext applicationContext,
+            final ObjectProvider<SpringDataUtil> springDataUtil) {
+
+        return new SpringDataUtilPrewarming(applicationContext, springDataUtil);
+
+    }
+
+    @Bean
+    public DeploymentResources vanillaBpDeploymentResources(
+            final ApplicationContext applicationContext) {
+
+        return new DeploymentResources(applicationContext);
+
+    }
+
+    @Bean
+    public ClasspathScannerCacheRelease vanillaBpClasspathScannerCacheRelease() {
+
+        return new ClasspathScannerCacheRelease();
+
+    }
+
+    @Bean
+    public BpmnModelCacheRelease vanillaBpBpmnModelCacheRelease() {
+
+        return new BpmnModelCacheRelease(
+                adapterConfigurations == null ? 0 : adapterConfigurations.size(),
+                properties.getBpmnModelCache());
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class BpmnModelCacheMetricsConfiguration {
+
+        @Bean
+        public BpmnModelCacheMetrics vanillaBpBpmnModelCacheMetrics(
+                final BpmnModelCacheRelease bpmnModelCacheRelease) {
+
+            return new BpmnModelCacheMetrics(bpmnModelCacheRelease);
+
+        }
+
+    }
+
+    @Bean
+    // 0 stripes means locking is disabled
+    @ConditionalOnExpression("${" + VanillaBpProperties.PREFIX + ".task-execution.lock-stripes:0} > 0")
+    public WorkflowAggregateLocks vanillaBpWorkflowAggregateLocks() {
+
+        return new WorkflowAggregateLocks(
+                properties.getTaskExecution().getLockStripes(),
+                properties.getTaskExecution().getLockWaitTimeout());
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class WorkflowAggregateLocksMetricsConfiguration {
+
+        @Bean
+        public WorkflowAggregateLocksMetrics vanillaBpWorkflowAggregateLocksMetrics(
+                final ObjectProvider<WorkflowAggregateLocks> locks) {
+
+            return new WorkflowAggregateLocksMetrics(locks);
+
+        }
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "com.github.benmanes.caffeine.cache.Caffeine")
+    static class WorkflowAggregateCachesConfiguration {
+
+        @Bean
+        public WorkflowAggregateCaches vanillaBpWorkflowAggregateCaches(
+                final VanillaBpProperties properties,
+                final SpringDataUtil springDataUtil) {
+
+            return new WorkflowAggregateCaches(
+                    springDataUtil,
+                    properties.getWorkflowAggregateCaches());
+
+        }
+
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {
+            "io.micrometer.core.instrument.binder.MeterBinder",
+            "com.github.benmanes.caffeine.cache.Caffeine" })
+    static class WorkflowAggregateCachesMetricsConfiguration {
+
+        @Bean
+        public WorkflowAggregateCachesMetrics vanillaBpWorkflowAggregateCachesMetrics(
+                final ObjectProvider<WorkflowAggregateCaches> caches) {
+
+            return new WorkflowAggregateCachesMetrics(caches);
+
+        }
+
+    }
+
 }
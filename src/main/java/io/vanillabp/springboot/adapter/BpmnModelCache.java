@@ -0,0 +1,191 @@
+package io.vanillabp.springboot.adapter;
+
+import java.lang.ref.SoftReference;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Models cached by {@link ModuleAwareBpmnDeployment} to be adopted by multiple
+ * adapters. Once every adapter reported a workflow module as processed (see
+ * {@link ModuleAwareBpmnDeployment.BpmnModelCacheProcessed}) the module's model
+ * is released. If soft retention is enabled, released models are kept
+ * until the garbage collector needs the memory.
+ * <p>
+ * All lookups ({@link #get(Object)}, {@link #containsKey(Object)},
+ * {@link #computeIfAbsent(String, Function)}, ...) consult released but
+ * retained models. Keys may be <i>null</i> for the default workflow module.
+ */
+class BpmnModelCache extends AbstractMap<String, Map.Entry<String, Object>> {
+
+    private final Map<String, Map.Entry<String, Object>> models = new HashMap<>();
+
+    private final Map<String, SoftReference<Map.Entry<String, Object>>> retained = new HashMap<>();
+
+    // key: workflow module ID, value: adapters which processed the module
+    private final Map<String, Set<Object>> processed = new HashMap<>();
+
+    // 0 means models are never released
+    private volatile int consumers = 0;
+
+    private volatile boolean softRetention = false;
+
+    void configure(
+            final int consumers,
+            final boolean softRetention) {
+
+        this.consumers = consumers;
+        this.softRetention = softRetention;
+
+    }
+
+    @Override
+    public synchronized Map.Entry<String, Object> get(
+            final Object workflowModuleId) {
+
+        final var result = models.get(workflowModuleId);
+        if (result != null) {
+            return result;
+        }
+
+        final var reference = retained.get(workflowModuleId);
+        return reference == null ? null : reference.get();
+
+    }
+
+    @Override
+    public synchronized boolean containsKey(
+            final Object workflowModuleId) {
+
+        return get(workflowModuleId) != null;
+
+    }
+
+    @Override
+    public synchronized Map.Entry<String, Object> put(
+            final String workflowModuleId,
+            final Map.Entry<String, Object> model) {
+
+        final var previous = get(workflowModuleId);
+        retained.remove(workflowModuleId);
+        models.put(workflowModuleId, model);
+        return previous;
+
+    }
+
+    @Override
+    public synchronized Map.Entry<String, Object> putIfAbsent(
+            final String workflowModuleId,
+            final Map.Entry<String, Object> model) {
+
+        final var current = get(workflowModuleId);
+        if (current != null) {
+            return current;
+        }
+        return put(workflowModuleId, model);
+
+    }
+
+    @Override
+    public synchronized Map.Entry<String, Object> computeIfAbsent(
+            final String workflowModuleId,
+            final Function<? super String, ? extends Map.Entry<String, Object>> mappingFunction) {
+
+        final var current = get(workflowModuleId);
+        if (current != null) {
+            return current;
+        }
+
+        final var model = mappingFunction.apply(workflowModuleId);
+        if (model != null) {
+            put(workflowModuleId, model);
+        }
+        return model;
+
+    }
+
+    @Override
+    public synchronized Map.Entry<String, Object> remove(
+            final Object workflowModuleId) {
+
+        final var previous = get(workflowModuleId);
+        retained.remove(workflowModuleId);
+        models.remove(workflowModuleId);
+        return previous;
+
+    }
+
+    @Override
+    public synchronized void clear() {
+
+        models.clear();
+        retained.clear();
+        processed.clear();
+
+    }
+
+    /**
+     * @return The number of models currently cached (not including retained models)
+     */
+    @Override
+    public synchronized int size() {
+
+        return models.size();
+
+    }
+
+    /**
+     * @return A snapshot of the models currently cached (not including retained models)
+     */
+    @Override
+    public synchronized Set<Entry<String, Map.Entry<String, Object>>> entrySet() {
+
+        return Collections.unmodifiableMap(new HashMap<>(models)).entrySet();
+
+    }
+
+    /**
+     * Records one adapter having processed the workflow module's model and
+     * releases the model once all adapters did. Repeated reports of the same
+     * adapter are counted once.
+     *
+     * @param adapter The adapter (e.g. its ID) which processed the model
+     */
+    synchronized void processed(
+            final String workflowModuleId,
+            final Object adapter) {
+
+        if (consumers <= 0) {
+            return;
+        }
+
+        final var adapters = processed.computeIfAbsent(workflowModuleId, id -> new HashSet<>());
+        adapters.add(adapter);
+        if (adapters.size() < consumers) {
+            return;
+        }
+
+        processed.remove(workflowModuleId);
+        final var model = models.remove(workflowModuleId);
+        if ((model != null)
+                && softRetention) {
+            retained.put(workflowModuleId, new SoftReference<>(model));
+        }
+
+    }
+
+    /**
+     * @return The number of models released but not yet collected by the garbage collector
+     */
+    synchronized int getRetained() {
+
+        retained.values().removeIf(reference -> reference.get() == null);
+        return retained.size();
+
+    }
+
+}
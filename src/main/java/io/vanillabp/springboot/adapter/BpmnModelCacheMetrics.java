@@ -0,0 +1,40 @@
+package io.vanillabp.springboot.adapter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the number of models held by the BPMN model cache.
+ */
+public class BpmnModelCacheMetrics implements MeterBinder {
+
+    private static final String PREFIX = "vanillabp.bpmn-model-cache";
+
+    private final BpmnModelCacheRelease release;
+
+    public BpmnModelCacheMetrics(
+            final BpmnModelCacheRelease release) {
+
+        this.release = release;
+
+    }
+
+    @Override
+    public void bindTo(
+            final MeterRegistry registry) {
+
+        Gauge
+                .builder(PREFIX + ".models", release, BpmnModelCacheRelease::getCached)
+                .tag("state", "cached")
+                .description("Number of models not yet processed by all adapters")
+                .register(registry);
+        Gauge
+                .builder(PREFIX + ".models", release, BpmnModelCacheRelease::getRetained)
+                .tag("state", "retained")
+                .description("Number of released models softly retained")
+                .register(registry);
+
+    }
+
+}
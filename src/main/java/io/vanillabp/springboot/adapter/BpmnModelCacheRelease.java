@@ -0,0 +1,52 @@
+package io.vanillabp.springboot.adapter;
+
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Releases cached models once every adapter in the classpath published
+ * {@link ModuleAwareBpmnDeployment.BpmnModelCacheProcessed} for the
+ * workflow module.
+ */
+public class BpmnModelCacheRelease implements ApplicationListener<ModuleAwareBpmnDeployment.BpmnModelCacheProcessed> {
+
+    public BpmnModelCacheRelease(
+            final int numberOfAdapters,
+            final VanillaBpProperties.BpmnModelCacheProperties properties) {
+
+        ModuleAwareBpmnDeployment.BPMN_MODEL_CACHE.configure(
+                properties.isRelease() ? numberOfAdapters : 0,
+                properties.isSoftRetention());
+
+    }
+
+    @Override
+    public void onApplicationEvent(
+            final ModuleAwareBpmnDeployment.BpmnModelCacheProcessed event) {
+
+        // adapters are counted once even if they report a module repeatedly
+        final var adapter = event.getSource() instanceof ModuleAwareBpmnDeployment deployment
+                ? deployment.getAdapterId()
+                : event.getSource();
+        ModuleAwareBpmnDeployment.BPMN_MODEL_CACHE.processed(event.getWorkflowModuleId(), adapter);
+
+    }
+
+    /**
+     * @return The number of models currently cached
+     */
+    public int getCached() {
+
+        return ModuleAwareBpmnDeployment.BPMN_MODEL_CACHE.size();
+
+    }
+
+    /**
+     * @return The number of released models not yet collected by the garbage collector
+     */
+    public int getRetained() {
+
+        return ModuleAwareBpmnDeployment.BPMN_MODEL_CACHE.getRetained();
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package io.vanillabp.springboot.adapter;
+
+/**
+ * Coordinates deployments of multiple instances of the application (e.g. pods
+ * of a rollout) so only one instance deploys a workflow module's resources.
+ * The other instances wait for that deployment to complete and get
+ * {@link DeploymentHints#isDeployedElsewhere()} set.
+ *
+ * @see io.vanillabp.springboot.utils.JdbcDeploymentCoordinator
+ */
+public interface DeploymentCoordinator {
+
+    @FunctionalInterface
+    interface Deployment {
+
+        void deploy(
+                boolean deployedElsewhere) throws Exception;
+
+    }
+
+    /**
+     * Runs the deployment either as the elected instance or, after the elected
+     * instance completed, as a follower.
+     *
+     * @param adapterId The adapter deploying
+     * @param workflowModuleId The workflow module deployed
+     * @param moduleHash The hash of all resources of the workflow module
+     * @param deployment The deployment to be run
+     */
+    void deploy(
+            String adapterId,
+            String workflowModuleId,
+            String moduleHash,
+            Deployment deployment) throws Exception;
+
+}
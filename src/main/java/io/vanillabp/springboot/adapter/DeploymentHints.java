@@ -0,0 +1,128 @@
+package io.vanillabp.springboot.adapter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tells adapters which resources of a workflow module changed since the last
+ * successful deployment according to the local deployment manifest. Adapters
+ * may skip deployment work for unchanged modules but still get all resources
+ * since wiring needs the models.
+ *
+ * @see ModuleAwareBpmnDeployment#doDeployment(String, org.springframework.core.io.Resource[],
+ *      org.springframework.core.io.Resource[], org.springframework.core.io.Resource[], DeploymentHints)
+ */
+public class DeploymentHints {
+
+    private final String moduleHash;
+
+    private final String previousModuleHash;
+
+    private final Map<String, String> resourceHashes;
+
+    private final Set<String> changedResources;
+
+    private final boolean deployedElsewhere;
+
+    public DeploymentHints(
+            final String moduleHash,
+            final String previousModuleHash,
+            final Map<String, String> resourceHashes,
+            final Set<String> changedResources) {
+
+        this(moduleHash, previousModuleHash, resourceHashes, changedResources, false);
+
+    }
+
+    public DeploymentHints(
+            final String moduleHash,
+            final String previousModuleHash,
+            final Map<String, String> resourceHashes,
+            final Set<String> changedResources,
+            final boolean deployedElsewhere) {
+
+        this.moduleHash = moduleHash;
+        this.previousModuleHash = previousModuleHash;
+        this.resourceHashes = resourceHashes;
+        this.changedResources = changedResources;
+        this.deployedElsewhere = deployedElsewhere;
+
+    }
+
+    /**
+     * @return A copy of these hints telling that the resources were already
+     *         deployed by another instance
+     * @see DeploymentCoordinator
+     */
+    public DeploymentHints asDeployedElsewhere() {
+
+        return new DeploymentHints(
+                moduleHash,
+                previousModuleHash,
+                resourceHashes,
+                changedResources,
+                true);
+
+    }
+
+    /**
+     * @return SHA-256 of all resources of the workflow module or <i>null</i> if not
+     *         computed since neither a deployment manifest nor coordination is configured
+     */
+    public String getModuleHash() {
+
+        return moduleHash;
+
+    }
+
+    /**
+     * @return The module's hash of the last successful deployment or <i>null</i> if unknown
+     */
+    public String getPreviousModuleHash() {
+
+        return previousModuleHash;
+
+    }
+
+    /**
+     * @return key = resource's filename (qualified by its jar or directory if several
+     *         provide the same filename), value = SHA-256 of the resource's content
+     */
+    public Map<String, String> getResourceHashes() {
+
+        return resourceHashes;
+
+    }
+
+    /**
+     * @return Keys (see {@link #getResourceHashes()}) of resources added or changed
+     *         since the last successful deployment
+     */
+    public Set<String> getChangedResources() {
+
+        return changedResources;
+
+    }
+
+    /**
+     * @return Whether any resource was added, changed or removed since the last
+     *         successful deployment
+     */
+    public boolean isModuleChanged() {
+
+        return (moduleHash == null)
+                || !moduleHash.equals(previousModuleHash);
+
+    }
+
+    /**
+     * @return Whether another instance of the application already deployed the
+     *         resources, so adapters only need to wire them
+     */
+    public boolean isDeployedElsewhere() {
+
+        return deployedElsewhere;
+
+    }
+
+}
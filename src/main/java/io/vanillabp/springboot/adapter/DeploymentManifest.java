@@ -0,0 +1,199 @@
+package io.vanillabp.springboot.adapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.springframework.core.io.Resource;
+
+/**
+ * Content hashes of the resources of one workflow module deployed by one
+ * adapter, stored as a properties file in a local directory.
+ */
+class DeploymentManifest {
+
+    private static final String MODULE_HASH = "module";
+
+    private static final String RESOURCE_PREFIX = "resource.";
+
+    private final Path file;
+
+    DeploymentManifest(
+            final String directory,
+            final String adapterId,
+            final String workflowModuleId) {
+
+        this.file = directory == null
+                ? null
+                : Path.of(directory, adapterId + "-" + workflowModuleId + ".properties");
+
+    }
+
+    /**
+     * @param hashRequired Whether the module's hash is needed even if no manifest is stored
+     *                     (e.g. for {@link DeploymentCoordinator})
+     */
+    DeploymentHints getHints(
+            final boolean hashRequired,
+            final Resource[]... resources) throws IOException {
+
+        final var keys = getKeys(Stream.of(resources).flatMap(Stream::of).toList());
+
+        if ((file == null)
+                && !hashRequired) {
+            // nothing to compare with, so every resource counts as changed
+            return new DeploymentHints(
+                    null,
+                    null,
+                    Map.of(),
+                    new HashSet<>(keys.keySet()));
+        }
+
+        final var resourceHashes = new TreeMap<String, String>();
+        for (final var resource : keys.entrySet()) {
+            resourceHashes.put(resource.getKey(), hash(resource.getValue()));
+        }
+        final var moduleDigest = newDigest();
+        resourceHashes.forEach((key, hash) -> moduleDigest
+                .update((key + ':' + hash + '\n').getBytes(StandardCharsets.UTF_8)));
+        final var moduleHash = HexFormat.of().formatHex(moduleDigest.digest());
+
+        final var previous = read();
+        final var changedResources = new HashSet<String>();
+        resourceHashes.forEach((key, hash) -> {
+            if (!hash.equals(previous.getProperty(RESOURCE_PREFIX + key))) {
+                changedResources.add(key);
+            }
+        });
+
+        return new DeploymentHints(
+                moduleHash,
+                previous.getProperty(MODULE_HASH),
+                resourceHashes,
+                changedResources);
+
+    }
+
+    /**
+     * Resources are identified by their path relative to the resources location,
+     * which is the filename since locations are not scanned recursively. If several
+     * classpath roots (e.g. jars) provide the same filename, these resources are
+     * qualified by their root or, if still ambiguous, by their URL.
+     *
+     * @return key = resource's key, value = resource
+     */
+    private static Map<String, Resource> getKeys(
+            final List<Resource> resources) throws IOException {
+
+        final var filenames = new HashMap<String, Integer>();
+        resources.forEach(resource -> filenames.merge(resource.getFilename(), 1, Integer::sum));
+
+        final var result = new HashMap<String, Resource>();
+        for (final var resource : resources) {
+            final var filename = resource.getFilename();
+            final var key = filenames.get(filename) == 1
+                    ? filename
+                    : getRoot(resource) + '!' + filename;
+            if (result.putIfAbsent(key, resource) != null) {
+                // roots of the same name (e.g. jars in different directories)
+                result.put(resource.getURL().toString(), resource);
+            }
+        }
+        return result;
+
+    }
+
+    /**
+     * @return e.g. "module.jar" for "jar:file:/app/lib/module.jar!/processes/a.bpmn"
+     *         or the directory's path for "file:/app/classes/processes/a.bpmn"
+     */
+    private static String getRoot(
+            final Resource resource) throws IOException {
+
+        final var url = resource.getURL().toString();
+        final var jarSeparator = url.lastIndexOf("!/");
+        if (jarSeparator != -1) {
+            final var jar = url.substring(0, jarSeparator);
+            return jar.substring(jar.lastIndexOf('/') + 1);
+        }
+        final var pathSeparator = url.lastIndexOf('/');
+        return pathSeparator == -1 ? url : url.substring(0, pathSeparator);
+
+    }
+
+    /**
+     * Records a successful deployment. The file is replaced atomically to not leave
+     * a partial manifest behind.
+     */
+    void write(
+            final DeploymentHints hints) throws IOException {
+
+        if (file == null) {
+            return;
+        }
+
+        final var manifest = new Properties();
+        manifest.setProperty(MODULE_HASH, hints.getModuleHash());
+        hints
+                .getResourceHashes()
+                .forEach((key, hash) -> manifest.setProperty(RESOURCE_PREFIX + key, hash));
+
+        Files.createDirectories(file.getParent());
+        final var tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try (var out = Files.newOutputStream(tmp)) {
+            manifest.store(out, null);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    }
+
+    private Properties read() throws IOException {
+
+        final var result = new Properties();
+        if ((file == null)
+                || !Files.isReadable(file)) {
+            return result;
+        }
+        try (var in = Files.newInputStream(file)) {
+            result.load(in);
+        }
+        return result;
+
+    }
+
+    private static String hash(
+            final Resource resource) throws IOException {
+
+        final var digest = newDigest();
+        try (InputStream in = new DigestInputStream(resource.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+
+    }
+
+    private static MessageDigest newDigest() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package io.vanillabp.springboot.adapter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+/**
+ * Scan results of resources locations shared between the adapters of one
+ * application context. Since this is a bean, the results are dropped together
+ * with the application context (e.g. on restarts by Spring Boot DevTools) and
+ * resources are resolved by the context's class loader.
+ *
+ * @see ModuleAwareBpmnDeployment
+ */
+public class DeploymentResources {
+
+    static final Resource[] NO_RESOURCES = new Resource[0];
+
+    private final ResourcePatternResolver resourcePatternResolver;
+
+    // key: resources location, value: resources by file extension
+    private final Map<String, Map<String, Resource[]>> resources = new ConcurrentHashMap<>();
+
+    public DeploymentResources(
+            final ResourcePatternResolver resourcePatternResolver) {
+
+        this.resourcePatternResolver = resourcePatternResolver;
+
+    }
+
+    /**
+     * @param resourcesLocation The location pattern
+     * @return key = file extension, value = resources
+     */
+    Map<String, Resource[]> findResources(
+            final String resourcesLocation) throws IOException {
+
+        final var cached = resources.get(resourcesLocation);
+        if (cached != null) {
+            return cached;
+        }
+
+        final var result = new HashMap<String, Resource[]>();
+        Arrays
+                .stream(resourcePatternResolver.getResources(resourcesLocation))
+                .filter(resource -> resource.getFilename() != null)
+                .collect(Collectors.groupingBy(
+                        resource -> Objects.requireNonNullElse(
+                                StringUtils.getFilenameExtension(resource.getFilename()), ""),
+                        Collectors.toList()))
+                .forEach((extension, resources) -> result.put(extension, resources.toArray(NO_RESOURCES)));
+
+        resources.putIfAbsent(resourcesLocation, result);
+        return result;
+
+    }
+
+    boolean isScanned(
+            final String resourcesLocation) {
+
+        return resources.containsKey(resourcesLocation);
+
+    }
+
+}
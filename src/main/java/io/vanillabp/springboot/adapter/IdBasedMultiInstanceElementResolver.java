@@ -0,0 +1,47 @@
+package io.vanillabp.springboot.adapter;
+
+import io.vanillabp.spi.service.MultiInstanceElementResolver;
+import java.util.Map;
+
+/**
+ * A {@link MultiInstanceElementResolver} which does not need the workflow aggregate
+ * but its id only. Use this for huge multi-instance collections to fetch the one
+ * element required (e.g. by using a repository query based on the workflow
+ * aggregate's id and the multi-instance's index) instead of loading the entire
+ * workflow aggregate. If no other parameter of the workflow task's method requires
+ * the workflow aggregate, then it is not loaded at all.
+ *
+ * @param <I> The workflow aggregate's id type
+ * @param <R> The element's type
+ */
+public interface IdBasedMultiInstanceElementResolver<I, R> extends MultiInstanceElementResolver<Object, R> {
+
+    /**
+     * @param workflowAggregateId The workflow aggregate's id
+     * @param multiInstances The multi-instances named by {@link #getNames()}
+     * @return The element resolved
+     * @throws Exception Any exception which should abort the workflow task
+     */
+    R resolveById(
+            I workflowAggregateId,
+            Map<String, MultiInstance<Object>> multiInstances) throws Exception;
+
+    /**
+     * Resolves the element by the workflow aggregate's id for callers not aware
+     * of id-based resolvers.
+     *
+     * @see #resolveById(Object, Map)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    default R resolve(
+            final Object workflowAggregate,
+            final Map<String, MultiInstance<Object>> multiInstances) throws Exception {
+
+        return resolveById(
+                (I) TaskHandlerBase.getWorkflowAggregateId(workflowAggregate),
+                multiInstances);
+
+    }
+
+}
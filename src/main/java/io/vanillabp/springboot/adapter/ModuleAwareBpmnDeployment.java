@@ -3,6 +3,7 @@ package io.vanillabp.springboot.adapter;
 import io.vanillabp.springboot.modules.WorkflowModuleProperties;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,11 +51,22 @@ public abstract class ModuleAwareBpmnDeployment {
     
     protected abstract String getAdapterId();
 
+    static final BpmnModelCache BPMN_MODEL_CACHE = new BpmnModelCache();
+
     // used to cache models which may be adopted by multiple adapters and deployed once the application started
     // key: workflow module ID, value entry of filename (key) and model (value)
-    protected static final Map<String, Map.Entry<String, Object>> bpmnModelCache = new HashMap<>();
+    // entries are released once processed by all adapters (see BpmnModelCacheProcessed)
+    protected static final Map<String, Map.Entry<String, Object>> bpmnModelCache = BPMN_MODEL_CACHE;
     // used to store properties which may be retrieved by multiple adapters to implement cross-cutting concerns
-    protected static final Map<String, Object> adapterProperties = new HashMap<>();
+    protected static final Map<String, Object> adapterProperties = Collections.synchronizedMap(new HashMap<>());
+
+    private static final String BPMN_EXTENSION = "bpmn";
+
+    private static final String CMMN_EXTENSION = "cmmn";
+
+    private static final String DMN_EXTENSION = "dmn";
+
+    private static final Resource[] NO_RESOURCES = DeploymentResources.NO_RESOURCES;
 
     private final VanillaBpProperties properties;
 
@@ -62,6 +74,14 @@ public abstract class ModuleAwareBpmnDeployment {
 
     @Autowired(required = false)
     private List<WorkflowModuleProperties> moduleProperties;
+
+    @Autowired(required = false)
+    private DeploymentCoordinator deploymentCoordinator;
+
+    // used to share scan results of resources locations between adapters,
+    // if not available scan results are only shared between workflow modules
+    @Autowired(required = false)
+    private DeploymentResources deploymentResources = new DeploymentResources(new PathMatchingResourcePatternResolver());
     
     public ModuleAwareBpmnDeployment(
             final VanillaBpProperties properties,
@@ -127,6 +147,25 @@ public abstract class ModuleAwareBpmnDeployment {
     		Resource[] dmns,
     		Resource[] cmms) throws Exception;
 
+    /**
+     * Deploys the resources of a workflow module. Adapters may override this method to
+     * skip deployment work if the hints tell that nothing changed since the last
+     * successful deployment. Per default, {@link #doDeployment(String, Resource[], Resource[], Resource[])}
+     * is called.
+     *
+     * @param hints Changes since the last successful deployment
+     */
+    protected void doDeployment(
+            final String workflowModuleId,
+            final Resource[] bpmns,
+            final Resource[] dmns,
+            final Resource[] cmms,
+            final DeploymentHints hints) throws Exception {
+
+        doDeployment(workflowModuleId, bpmns, dmns, cmms);
+
+    }
+
     private void deployWorkflowModule(
     		final String workflowModuleId) {
 
@@ -135,15 +174,42 @@ public abstract class ModuleAwareBpmnDeployment {
 
         try {
 
-            final var bpmns = findResources(workflowModuleId, resourcesLocation, "*.bpmn");
-            final var cmms = findResources(workflowModuleId, resourcesLocation, "*.cmmn");
-            final var dmns = findResources(workflowModuleId, resourcesLocation, "*.dmn");
+            final var resources = findResources(workflowModuleId, resourcesLocation);
+            final var bpmns = resources.getOrDefault(BPMN_EXTENSION, NO_RESOURCES);
+            final var cmms = resources.getOrDefault(CMMN_EXTENSION, NO_RESOURCES);
+            final var dmns = resources.getOrDefault(DMN_EXTENSION, NO_RESOURCES);
 
-            doDeployment(
-                    workflowModuleId,
-                    bpmns,
-                    dmns,
-                    cmms);
+            final var manifest = new DeploymentManifest(
+                    properties.getDeploymentManifestLocation(),
+                    getAdapterId(),
+                    workflowModuleId);
+            final var hints = manifest.getHints(deploymentCoordinator != null, bpmns, dmns, cmms);
+            getLogger()
+                    .debug("Resources of process archive <{}> changed since last deployment: {}",
+                            workflowModuleId == null ? "default" : workflowModuleId,
+                            hints.isModuleChanged() ? hints.getChangedResources() : "none");
+
+            if (deploymentCoordinator == null) {
+                doDeployment(
+                        workflowModuleId,
+                        bpmns,
+                        dmns,
+                        cmms,
+                        hints);
+            } else {
+                deploymentCoordinator.deploy(
+                        getAdapterId(),
+                        workflowModuleId,
+                        hints.getModuleHash(),
+                        deployedElsewhere -> doDeployment(
+                                workflowModuleId,
+                                bpmns,
+                                dmns,
+                                cmms,
+                                deployedElsewhere ? hints.asDeployedElsewhere() : hints));
+            }
+
+            manifest.write(hints);
 
             getLogger()
                     .info("Deployed resources for process archive <{}>",
@@ -157,10 +223,15 @@ public abstract class ModuleAwareBpmnDeployment {
 
     }
 
-    private Resource[] findResources(
+    /**
+     * Scans the location once for all kinds of resources. The result is shared
+     * since adapters may use the same location (see {@link DeploymentResources}).
+     *
+     * @return key = file extension, value = resources
+     */
+    private Map<String, Resource[]> findResources(
             final String workflowModuleId,
-            final String adapterResourcesLocation,
-            final String fileNamePattern) throws IOException {
+            final String adapterResourcesLocation) throws IOException {
 
         // test for multi-jar
         if ((moduleProperties != null)
@@ -175,15 +246,17 @@ public abstract class ModuleAwareBpmnDeployment {
         }
 
         final var resourcesLocation = adapterResourcesLocation.endsWith("/")
-                ? adapterResourcesLocation + fileNamePattern
-                : adapterResourcesLocation + "/" + fileNamePattern;
+                ? adapterResourcesLocation + "*"
+                : adapterResourcesLocation + "/*";
 
-        getLogger()
-                .debug("Scanning process archive <{}> for {}",
-                        workflowModuleId == null ? "default" : workflowModuleId,
-                        resourcesLocation);
+        if (!deploymentResources.isScanned(resourcesLocation)) {
+            getLogger()
+                    .debug("Scanning process archive <{}> for {}",
+                            workflowModuleId == null ? "default" : workflowModuleId,
+                            resourcesLocation);
+        }
 
-        return new PathMatchingResourcePatternResolver().getResources(resourcesLocation);
+        return deploymentResources.findResources(resourcesLocation);
 
     }
 
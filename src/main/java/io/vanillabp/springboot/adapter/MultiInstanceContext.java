@@ -0,0 +1,73 @@
+package io.vanillabp.springboot.adapter;
+
+import io.vanillabp.spi.service.MultiInstanceElementResolver;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Multi-instance information of one task invocation. The adapter's
+ * multi-instance supplier is called at most once per multi-instance
+ * activity's name, regardless how many parameters (element, index,
+ * total or resolvers) refer to it.
+ * <p>
+ * Instances are bound to one invocation and therefore not thread-safe.
+ */
+public class MultiInstanceContext {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private String[] names = new String[INITIAL_CAPACITY];
+
+    private Object[] multiInstances = new Object[INITIAL_CAPACITY];
+
+    private int size = 0;
+
+    @SuppressWarnings("unchecked")
+    public MultiInstanceElementResolver.MultiInstance<Object> get(
+            final String name,
+            final Function<String, Object> multiInstanceSupplier) {
+
+        for (int i = 0; i < size; ++i) {
+            if (names[i].equals(name)) {
+                return (MultiInstanceElementResolver.MultiInstance<Object>) multiInstances[i];
+            }
+        }
+
+        final var multiInstance = multiInstanceSupplier.apply(name);
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size << 1);
+            multiInstances = Arrays.copyOf(multiInstances, size << 1);
+        }
+        names[size] = name;
+        multiInstances[size] = multiInstance;
+        ++size;
+
+        return (MultiInstanceElementResolver.MultiInstance<Object>) multiInstance;
+
+    }
+
+    public Object getElement(
+            final String name,
+            final Function<String, Object> multiInstanceSupplier) {
+
+        return get(name, multiInstanceSupplier).getElement();
+
+    }
+
+    public int getTotal(
+            final String name,
+            final Function<String, Object> multiInstanceSupplier) {
+
+        return get(name, multiInstanceSupplier).getTotal();
+
+    }
+
+    public int getIndex(
+            final String name,
+            final Function<String, Object> multiInstanceSupplier) {
+
+        return get(name, multiInstanceSupplier).getIndex();
+
+    }
+
+}
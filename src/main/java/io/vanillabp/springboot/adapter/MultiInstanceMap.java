@@ -0,0 +1,138 @@
+package io.vanillabp.springboot.adapter;
+
+import io.vanillabp.spi.service.MultiInstanceElementResolver;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map of multi-instances passed to {@link MultiInstanceElementResolver}s.
+ * It is backed by the array of names captured once at wiring time and an array
+ * of values of the same size filled per invocation.
+ */
+public class MultiInstanceMap extends AbstractMap<String, MultiInstanceElementResolver.MultiInstance<Object>> {
+
+    private final String[] names;
+
+    private final Object[] multiInstances;
+
+    public MultiInstanceMap(
+            final String[] names) {
+
+        this.names = names;
+        this.multiInstances = new Object[names.length];
+
+    }
+
+    public void set(
+            final int index,
+            final MultiInstanceElementResolver.MultiInstance<Object> multiInstance) {
+
+        multiInstances[index] = multiInstance;
+
+    }
+
+    @SuppressWarnings("unchecked")
+    public MultiInstanceElementResolver.MultiInstance<Object> get(
+            final int index) {
+
+        return (MultiInstanceElementResolver.MultiInstance<Object>) multiInstances[index];
+
+    }
+
+    /**
+     * @return The index of each multi-instance in the order of the names given.
+     */
+    public int[] getIndexes() {
+
+        final var result = new int[names.length];
+        for (int i = 0; i < names.length; ++i) {
+            final var multiInstance = get(i);
+            result[i] = multiInstance == null ? -1 : multiInstance.getIndex();
+        }
+        return result;
+
+    }
+
+    @Override
+    public int size() {
+
+        return names.length;
+
+    }
+
+    @Override
+    public boolean containsKey(
+            final Object key) {
+
+        return indexOf(key) != -1;
+
+    }
+
+    @Override
+    public MultiInstanceElementResolver.MultiInstance<Object> get(
+            final Object key) {
+
+        final var index = indexOf(key);
+        if (index == -1) {
+            return null;
+        }
+        return get(index);
+
+    }
+
+    private int indexOf(
+            final Object key) {
+
+        for (int i = 0; i < names.length; ++i) {
+            if (names[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+
+    }
+
+    @Override
+    public Set<Entry<String, MultiInstanceElementResolver.MultiInstance<Object>>> entrySet() {
+
+        return new AbstractSet<>() {
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+
+            @Override
+            public Iterator<Entry<String, MultiInstanceElementResolver.MultiInstance<Object>>> iterator() {
+
+                return new Iterator<>() {
+
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, MultiInstanceElementResolver.MultiInstance<Object>> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final var result = new SimpleImmutableEntry<>(names[next], get(next));
+                        ++next;
+                        return result;
+                    }
+
+                };
+
+            }
+
+        };
+
+    }
+
+}
@@ -0,0 +1,75 @@
+package io.vanillabp.springboot.adapter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Decides whether a workflow task failing due to an optimistic locking
+ * conflict is retried in-process. Kept separate from {@link TaskHandlerBase}
+ * since spring-tx is an optional dependency and this class is only loaded
+ * if retries are configured.
+ */
+class OptimisticLockingRetry {
+
+    private final VanillaBpProperties.TaskExecutionProperties properties;
+
+    OptimisticLockingRetry(
+            final VanillaBpProperties.TaskExecutionProperties properties) {
+
+        this.properties = properties;
+
+    }
+
+    /**
+     * @param e The exception thrown by the task's execution
+     * @param retry The number of the upcoming retry (starting with 1)
+     * @return Whether to retry after the backoff was applied
+     */
+    boolean backoffAndRetry(
+            final Exception e,
+            final int retry) {
+
+        if (retry > properties.getOptimisticLockingRetries()) {
+            return false;
+        }
+        // within a transaction the conflict is reported on commit or
+        // the transaction is marked as rollback-only
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        if (!isOptimisticLockingFailure(e)) {
+            return false;
+        }
+
+        final var backoff = Math.min(
+                properties.getRetryBackoff().toMillis() << Math.min(retry - 1, 16),
+                properties.getMaxRetryBackoff().toMillis());
+        if (backoff > 0) {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        return true;
+
+    }
+
+    private static boolean isOptimisticLockingFailure(
+            final Throwable e) {
+
+        var cause = e;
+        while (cause != null) {
+            if (cause instanceof OptimisticLockingFailureException) {
+                return true;
+            }
+            cause = cause.getCause() == cause ? null : cause.getCause();
+        }
+        return false;
+
+    }
+
+}
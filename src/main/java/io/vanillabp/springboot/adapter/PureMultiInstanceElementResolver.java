@@ -0,0 +1,28 @@
+package io.vanillabp.springboot.adapter;
+
+import io.vanillabp.spi.service.MultiInstanceElementResolver;
+
+/**
+ * A {@link MultiInstanceElementResolver} whose result only depends on the
+ * workflow aggregate's id and the indexes of the multi-instances requested.
+ * <p>
+ * Results of pure id-based resolvers (see {@link IdBasedMultiInstanceElementResolver})
+ * are cached per workflow aggregate id and indexes and therefore shared between
+ * invocations, so they must not be modified by the workflow task. Results of
+ * resolvers using the workflow aggregate are not cached, since the aggregate is
+ * loaded again by each invocation.
+ */
+public interface PureMultiInstanceElementResolver<W, R> extends MultiInstanceElementResolver<W, R> {
+
+    int DEFAULT_CACHE_SIZE = 256;
+
+    /**
+     * @return The maximum number of results cached
+     */
+    default int getCacheSize() {
+
+        return DEFAULT_CACHE_SIZE;
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package io.vanillabp.springboot.adapter;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.repository.CrudRepository;
 
@@ -70,5 +72,148 @@ public interface SpringDataUtil {
      * @return Entity was loaded/persisted from/to DB before
      */
     <O> boolean isPersistedEntity(Class<O> entityClass, O entity);
+
+    /**
+     * Load the entity of the given type.
+     *
+     * @param <O> The entity's type
+     * @param type The entity's class
+     * @param id The entity's id
+     * @param readOnly Whether the entity is not modified and therefore must not be saved
+     *                 (may be used as a hint to avoid dirty-checking)
+     * @return The entity or <i>null</i> if there is no entity for the given id
+     */
+    default <O> O findById(Class<O> type, Object id, boolean readOnly) {
+
+        return findById(type, id, readOnly, null, List.of());
+
+    }
+
+    /**
+     * Load the entity of the given type using a fetch plan. Implementations not
+     * supporting fetch plans ignore them.
+     *
+     * @param <O> The entity's type
+     * @param type The entity's class
+     * @param id The entity's id
+     * @param readOnly Whether the entity is not modified and therefore must not be saved
+     * @param entityGraph The name of a named entity graph or <i>null</i>
+     * @param fetchPlan Attribute paths to be fetched (e.g. "driver.address")
+     * @return The entity or <i>null</i> if there is no entity for the given id
+     */
+    default <O> O findById(Class<O> type, Object id, boolean readOnly,
+            String entityGraph, Collection<String> fetchPlan) {
+
+        return getRepository(type)
+                .findById(id)
+                .orElse(null);
+
+    }
+
+    /**
+     * Load the entity of the given type. Concurrent calls for the same entity may
+     * share one round trip to the database but each caller gets its own instance.
+     * Implementations not able to share loads (e.g. because entities are bound to
+     * a persistence context) load the entity for each caller.
+     *
+     * @param <O> The entity's type
+     * @param type The entity's class
+     * @param id The entity's id
+     * @return The entity or <i>null</i> if there is no entity for the given id
+     */
+    default <O> O findByIdShared(Class<O> type, Object id) {
+
+        return findById(type, id, false);
+
+    }
+
+    /**
+     * Called once a read-only task finished using an entity loaded by
+     * {@link #findById(Class, Object, boolean, String, Collection)}. Implementations
+     * may release resources bound to the entity (e.g. detach it from the persistence
+     * context if no one else uses it).
+     *
+     * @param entity The entity loaded read-only
+     */
+    default void release(Object entity) {
+
+    }
+
+    /**
+     * Detaches an entity loaded read-only from the current persistence context
+     * to share it across threads (e.g. by caching it).
+     *
+     * @param entity The entity loaded read-only
+     * @return Whether the entity is detached or <i>false</i> if it is used by
+     *         others (e.g. other tasks of the current transaction)
+     */
+    default boolean detach(Object entity) {
+
+        return true;
+
+    }
+
+    /**
+     * Take a snapshot of the entity's persistent state right after loading it,
+     * used by {@link #save(Object, Object)} to write changes only.
+     *
+     * @param entity The entity loaded
+     * @return The snapshot or <i>null</i> if not supported
+     */
+    default Object snapshot(Object entity) {
+
+        return null;
+
+    }
+
+    /**
+     * Save the entity. Implementations supporting snapshots may write the changes
+     * since the snapshot was taken only.
+     *
+     * @param <O> The entity's type
+     * @param entity The entity to be saved
+     * @param snapshot The snapshot taken on loading or <i>null</i>
+     * @return The entity saved
+     * @see #snapshot(Object)
+     */
+    default <O> O save(O entity, Object snapshot) {
+
+        return getRepository(entity).save(entity);
+
+    }
+
+    /**
+     * @param entity The entity
+     * @return The entity's version or <i>null</i> if not versioned or not supported
+     */
+    default Object getVersion(Object entity) {
+
+        return null;
+
+    }
+
+    /**
+     * Determine the entity's current version stored in the database without loading
+     * the entity.
+     *
+     * @param type The entity's class
+     * @param id The entity's id
+     * @return The version or <i>null</i> if not versioned, not found or not supported
+     */
+    default Object findVersion(Class<?> type, Object id) {
+
+        return null;
+
+    }
+
+    /**
+     * @param entity The entity
+     * @return The entity's estimated weight used to bound caches by size
+     */
+    default int getWeight(Object entity) {
+
+        return 1;
+
+    }
     
 }
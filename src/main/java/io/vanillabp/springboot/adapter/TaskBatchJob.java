@@ -0,0 +1,97 @@
+package io.vanillabp.springboot.adapter;
+
+import io.vanillabp.springboot.adapter.wiring.WorkflowAggregateCache;
+import io.vanillabp.springboot.parameters.MethodParameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * One job of a batch executed by
+ * {@link TaskHandlerBase#executeBatch(java.util.List, boolean)}. After the batch
+ * was executed, the job holds either the method's result or the failure.
+ */
+public class TaskBatchJob {
+
+    private final WorkflowAggregateCache workflowAggregateCache;
+
+    private final Object workflowAggregateId;
+
+    private final List<BiFunction<Object[], MethodParameter, Boolean>> parameterProcessors;
+
+    private Object result;
+
+    private Exception failure;
+
+    @SafeVarargs
+    public TaskBatchJob(
+            final WorkflowAggregateCache workflowAggregateCache,
+            final Object workflowAggregateId,
+            final BiFunction<Object[], MethodParameter, Boolean>... parameterProcessors) {
+
+        this.workflowAggregateCache = workflowAggregateCache;
+        this.workflowAggregateId = workflowAggregateId;
+        this.parameterProcessors = new ArrayList<>(parameterProcessors.length);
+        for (final var parameterProcessor : parameterProcessors) {
+            this.parameterProcessors.add(parameterProcessor);
+        }
+
+    }
+
+    public WorkflowAggregateCache getWorkflowAggregateCache() {
+
+        return workflowAggregateCache;
+
+    }
+
+    public Object getWorkflowAggregateId() {
+
+        return workflowAggregateId;
+
+    }
+
+    public List<BiFunction<Object[], MethodParameter, Boolean>> getParameterProcessors() {
+
+        return parameterProcessors;
+
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R> R getResult() {
+
+        return (R) result;
+
+    }
+
+    void setResult(
+            final Object result) {
+
+        this.result = result;
+
+    }
+
+    /**
+     * @return The exception thrown by the method or on saving the workflow
+     *         aggregate or <i>null</i> if the job succeeded
+     */
+    public Exception getFailure() {
+
+        return failure;
+
+    }
+
+    void setFailure(
+            final Exception failure) {
+
+        this.failure = failure;
+        this.result = null;
+
+    }
+
+    public boolean isFailed() {
+
+        return failure != null;
+
+    }
+
+}
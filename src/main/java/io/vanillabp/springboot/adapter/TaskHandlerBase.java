@@ -2,6 +2,7 @@ package io.vanillabp.springboot.adapter;
 
 import io.vanillabp.spi.service.MultiInstanceElementResolver;
 import io.vanillabp.spi.service.TaskEvent;
+import io.vanillabp.springboot.adapter.wiring.LazyWorkflowAggregate;
 import io.vanillabp.springboot.adapter.wiring.WorkflowAggregateCache;
 import io.vanillabp.springboot.parameters.MethodParameter;
 import io.vanillabp.springboot.parameters.MultiInstanceElementMethodParameter;
@@ -14,19 +15,79 @@ import io.vanillabp.springboot.parameters.TaskParameter;
 import io.vanillabp.springboot.parameters.WorkflowAggregateMethodParameter;
 import io.vanillabp.springboot.utils.MutableStream;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.Advised;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ReflectionUtils;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 public abstract class TaskHandlerBase {
 
+    private static final Logger logger = LoggerFactory.getLogger(TaskHandlerBase.class);
+
+    /**
+     * State of the invocation currently processed by {@link #execute(WorkflowAggregateCache, Object, boolean, BiFunction[])}
+     * on this thread. Parameter processors are called by adapters in the context of this method only.
+     */
+    private static final class Invocation {
+
+        private final Object workflowAggregateId;
+
+        private final MultiInstanceContext multiInstances = new MultiInstanceContext();
+
+        private LazyWorkflowAggregate lazyWorkflowAggregate;
+
+        /**
+         * Workflow aggregate loaded as part of a batch or <i>null</i>.
+         */
+        private Object preloadedWorkflowAggregate;
+
+        /**
+         * Snapshot of the workflow aggregate taken on loading it if partial updates are used.
+         */
+        private Object workflowAggregateSnapshot;
+
+        private Invocation(
+                final Object workflowAggregateId) {
+
+            this.workflowAggregateId = workflowAggregateId;
+
+        }
+
+    }
+
+    private static final ThreadLocal<Invocation> currentInvocation = new ThreadLocal<>();
+
+    // names of annotations marking a workflow aggregate's id (JPA and Spring Data)
+    private static final Set<String> ID_ANNOTATIONS = Set.of(
+            "jakarta.persistence.Id",
+            "org.springframework.data.annotation.Id");
+
+    // id accessors by workflow aggregate class: registered by handlers using
+    // SpringDataUtil#getId or determined by annotations for other classes
+    private static final Map<Class<?>, Function<Object, Object>> ID_ACCESSORS = new ConcurrentHashMap<>();
+
     protected final CrudRepository<Object, Object> workflowAggregateRepository;
 
     protected final List<MethodParameter> parameters;
@@ -35,6 +96,19 @@ public abstract class TaskHandlerBase {
 
     protected final Method method;
 
+    protected final TaskHandlerSupport support;
+
+    /**
+     * Events subscribed by the method's {@link TaskEventMethodParameter}s or <i>null</i> if
+     * there is no such parameter.
+     */
+    private final EnumSet<TaskEvent.Event> subscribedEvents;
+
+    /**
+     * Retry of optimistic locking conflicts or <i>null</i> if not configured.
+     */
+    private final OptimisticLockingRetry optimisticLockingRetry;
+
     protected abstract Logger getLogger();
 
     public TaskHandlerBase(
@@ -42,12 +116,200 @@ public abstract class TaskHandlerBase {
             final Object bean,
             final Method method,
             final List<MethodParameter> parameters) {
+
+        this(workflowAggregateRepository, bean, method, parameters, TaskHandlerSupport.defaults());
+
+    }
+
+    public TaskHandlerBase(
+            final CrudRepository<Object, Object> workflowAggregateRepository,
+            final Object bean,
+            final Method method,
+            final List<MethodParameter> parameters,
+            final TaskHandlerSupport support) {
         
         this.workflowAggregateRepository = workflowAggregateRepository;
         this.bean = bean;
         this.method = method;
         this.parameters = parameters;
+        this.support = support;
+
+        final var taskEventParameters = parameters
+                .stream()
+                .filter(param -> param instanceof TaskEventMethodParameter)
+                .map(param -> ((TaskEventMethodParameter) param).getEvents())
+                .toList();
+        if (taskEventParameters.isEmpty()) {
+            this.subscribedEvents = null;
+        } else {
+            this.subscribedEvents = EnumSet.noneOf(TaskEvent.Event.class);
+            taskEventParameters.forEach(subscribedEvents::addAll);
+        }
+
+        this.optimisticLockingRetry = support.getTaskExecutionProperties().getOptimisticLockingRetries() > 0
+                && !support.getTaskProperties().isReadOnly()
+                ? new OptimisticLockingRetry(support.getTaskExecutionProperties())
+                : null;
+
+        if ((support.getSpringDataUtil() != null)
+                && (support.getWorkflowAggregateClass() != null)) {
+            final var springDataUtil = support.getSpringDataUtil();
+            ID_ACCESSORS.put(support.getWorkflowAggregateClass(), springDataUtil::getId);
+        }
+
+        if (support.getTaskProperties().isLazyWorkflowAggregate()
+                && !LazyWorkflowAggregate.isSupported(support.getWorkflowAggregateClass())) {
+            throw new IllegalStateException(
+                    "Lazy workflow aggregate configured for method '"
+                    + method
+                    + "' but workflow aggregate class '"
+                    + support.getWorkflowAggregateClass()
+                    + "' cannot be proxied! It must not be final and must not have public final methods"
+                    + (support.getWorkflowAggregateClass() == null
+                            ? ""
+                            : ": " + LazyWorkflowAggregate.getFinalPublicMethods(support.getWorkflowAggregateClass())));
+        }
+
+    }
+
+    /**
+     * @return The id of the given workflow aggregate determined by the {@link SpringDataUtil}
+     *         of the handlers wiring its class or, for other classes, by the field or getter
+     *         annotated as id. Lazy workflow aggregates of the invocation currently processed
+     *         are not loaded to determine the id.
+     */
+    static Object getWorkflowAggregateId(
+            final Object workflowAggregate) {
+
+        if (workflowAggregate == null) {
+            return null;
+        }
+
+        final var invocation = currentInvocation.get();
+        if ((invocation != null)
+                && (invocation.lazyWorkflowAggregate != null)
+                && (invocation.lazyWorkflowAggregate.getProxy() == workflowAggregate)) {
+            return invocation.workflowAggregateId;
+        }
+
+        final var aggregate = getProxyTarget(workflowAggregate);
+        return getIdAccessor(aggregate.getClass()).apply(aggregate);
+
+    }
+
+    private static Object getProxyTarget(
+            final Object workflowAggregate) {
+
+        if (!(workflowAggregate instanceof Advised advised)) {
+            return workflowAggregate;
+        }
+        try {
+            return advised.getTargetSource().getTarget();
+        } catch (Exception e) {
+            throw new RuntimeException("Could not get target of proxied workflow aggregate", e);
+        }
+
+    }
+
+    private static Function<Object, Object> getIdAccessor(
+            final Class<?> workflowAggregateClass) {
+
+        return ID_ACCESSORS.computeIfAbsent(workflowAggregateClass, type -> {
+
+            // e.g. subclasses generated by persistence providers
+            for (var superclass = type.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+                final var accessor = ID_ACCESSORS.get(superclass);
+                if (accessor != null) {
+                    return accessor;
+                }
+            }
+
+            final var idField = new AtomicReference<Field>();
+            ReflectionUtils.doWithFields(
+                    type,
+                    idField::set,
+                    field -> (idField.get() == null) && isAnnotatedAsId(field.getAnnotations()));
+            if (idField.get() != null) {
+                ReflectionUtils.makeAccessible(idField.get());
+                return aggregate -> ReflectionUtils.getField(idField.get(), aggregate);
+            }
 
+            // property access
+            final var idGetter = new AtomicReference<Method>();
+            ReflectionUtils.doWithMethods(
+                    type,
+                    idGetter::set,
+                    method -> (idGetter.get() == null)
+                            && (method.getParameterCount() == 0)
+                            && isAnnotatedAsId(method.getAnnotations()));
+            if (idGetter.get() != null) {
+                ReflectionUtils.makeAccessible(idGetter.get());
+                return aggregate -> ReflectionUtils.invokeMethod(idGetter.get(), aggregate);
+            }
+
+            throw new IllegalStateException(
+                    "No field or getter annotated as id found in workflow aggregate class '"
+                    + type.getName()
+                    + "'");
+
+        });
+
+    }
+
+    private static boolean isAnnotatedAsId(
+            final Annotation[] annotations) {
+
+        return Arrays
+                .stream(annotations)
+                .anyMatch(annotation -> ID_ANNOTATIONS.contains(annotation.annotationType().getName()));
+
+    }
+
+    /**
+     * Cheap check to be used by adapters before doing any I/O
+     * (e.g. loading the workflow aggregate).
+     *
+     * @param event The event occurred
+     * @return Whether the method is interested in the event. Methods not having
+     *         a parameter annotated by {@link TaskEvent} accept all events.
+     */
+    public boolean accepts(
+            final TaskEvent.Event event) {
+
+        return (subscribedEvents == null)
+                || subscribedEvents.contains(event);
+
+    }
+
+    /**
+     * Like {@link #execute(WorkflowAggregateCache, Object, boolean, BiFunction[])} but
+     * events not subscribed by the method are skipped before the workflow aggregate is loaded.
+     *
+     * @return The method's result or <i>null</i> if the event was skipped
+     * @see #accepts(TaskEvent.Event)
+     */
+    @SuppressWarnings("unchecked")
+    protected <R> R execute(
+            final WorkflowAggregateCache workflowAggregateCache,
+            final Object workflowAggregateId,
+            final TaskEvent.Event event,
+            final boolean saveAggregateAfterwards,
+            final BiFunction<Object[], MethodParameter, Boolean>... parameterProcessors)
+            throws Exception {
+
+        if (!accepts(event)) {
+            getLogger().trace(
+                    "Skipping event {} of task not subscribed by method '{}'",
+                    event,
+                    method);
+            return null;
+        }
+
+        return execute(
+                workflowAggregateCache,
+                workflowAggregateId,
+                saveAggregateAfterwards,
+                parameterProcessors);
 
     }
     
@@ -59,6 +321,264 @@ public abstract class TaskHandlerBase {
             final BiFunction<Object[], MethodParameter, Boolean>... parameterProcessors)
             throws Exception {
 
+        final var previousInvocation = currentInvocation.get();
+        try {
+
+            var retry = 0;
+            while (true) {
+                // a fresh invocation per attempt to reload and re-bind the workflow aggregate
+                currentInvocation.set(new Invocation(workflowAggregateId));
+                final Exception failure;
+                final var lock = lock(workflowAggregateId);
+                try {
+                    return invoke(workflowAggregateCache, workflowAggregateId, saveAggregateAfterwards, Arrays.asList(parameterProcessors));
+                } catch (Exception e) {
+                    failure = e;
+                } finally {
+                    // unlocked before the backoff to not block other tasks while sleeping
+                    unlock(lock);
+                }
+
+                if (optimisticLockingRetry == null) {
+                    throw failure;
+                }
+                ++retry;
+                if (!optimisticLockingRetry.backoffAndRetry(failure, retry)) {
+                    throw failure;
+                }
+                getLogger().debug(
+                        "Optimistic locking conflict on executing method '{}', retry #{}",
+                        method,
+                        retry);
+
+                // the workflow aggregate of the failed attempt is stale
+                workflowAggregateCache.workflowAggregate = null;
+                workflowAggregateCache.setLoader(() -> loadWorkflowAggregate(workflowAggregateId));
+            }
+
+        } finally {
+            if (previousInvocation == null) {
+                currentInvocation.remove();
+            } else {
+                currentInvocation.set(previousInvocation);
+            }
+        }
+
+    }
+
+    private Lock lock(
+            final Object workflowAggregateId) {
+
+        final var locks = support.getWorkflowAggregateLocks();
+        if ((locks == null)
+                || (workflowAggregateId == null)) {
+            return null;
+        }
+
+        final var lock = locks.lock(support.getWorkflowAggregateClass(), workflowAggregateId);
+        if (lock == null) {
+            getLogger().warn(
+                    "Could not acquire lock for workflow aggregate '{}' in time, executing method '{}' unlocked",
+                    workflowAggregateId,
+                    method);
+        }
+        return lock;
+
+    }
+
+    /**
+     * Within a transaction the lock is released once the transaction completed, so
+     * the next task of the same workflow aggregate loads the committed state.
+     * Outside of transactions it is released immediately.
+     */
+    private static void unlock(
+            final Lock lock) {
+
+        if (lock == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            lock.unlock();
+            return;
+        }
+
+        // afterCompletion is called by the thread holding the lock
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(
+                    final int status) {
+                lock.unlock();
+            }
+        });
+
+    }
+
+    /**
+     * Executes a batch of jobs of this task: the workflow aggregates are loaded
+     * by one query, the method is called for each job and the modified workflow
+     * aggregates are saved at once. Jobs are isolated: a job failing does not
+     * affect any other job. Therefore, only the first job of each workflow aggregate
+     * is part of the batch. Further jobs of the same aggregate are executed one by
+     * one afterwards (see {@link #execute(WorkflowAggregateCache, Object, boolean, BiFunction[])}),
+     * so they see the changes saved by the previous jobs.
+     * <p>
+     * This should be used outside of transactions only, since changes of failed
+     * jobs on entities managed by a transaction cannot be isolated. Locks and
+     * optimistic locking retries are not applied to batches.
+     *
+     * @param jobs The jobs holding the result or failure afterwards
+     * @param saveAggregateAfterwards Whether to save the workflow aggregates
+     */
+    protected void executeBatch(
+            final List<TaskBatchJob> jobs,
+            final boolean saveAggregateAfterwards) {
+
+        final var usesWorkflowAggregate = parameters
+                .stream()
+                .anyMatch(param -> param instanceof WorkflowAggregateMethodParameter);
+        final var preloaded = usesWorkflowAggregate
+                ? loadWorkflowAggregates(jobs)
+                : Map.<Object, Object>of();
+
+        final var toBeSaved = new LinkedList<TaskBatchJob>();
+        final var batched = new HashSet<>();
+        final var following = new LinkedList<TaskBatchJob>();
+        for (final var job : jobs) {
+            final var workflowAggregateId = job.getWorkflowAggregateId();
+            // jobs without id cannot share a workflow aggregate
+            if ((workflowAggregateId != null)
+                    && !batched.add(workflowAggregateId)) {
+                following.add(job);
+                continue;
+            }
+            final var previousInvocation = currentInvocation.get();
+            final var invocation = new Invocation(workflowAggregateId);
+            invocation.preloadedWorkflowAggregate = workflowAggregateId == null
+                    ? null
+                    : preloaded.get(workflowAggregateId);
+            currentInvocation.set(invocation);
+            try {
+                job.setResult(invoke(
+                        job.getWorkflowAggregateCache(),
+                        workflowAggregateId,
+                        false,
+                        job.getParameterProcessors()));
+                if (job.getWorkflowAggregateCache().workflowAggregate != null) {
+                    toBeSaved.add(job);
+                }
+            } catch (Exception e) {
+                job.setFailure(e);
+            } finally {
+                if (previousInvocation == null) {
+                    currentInvocation.remove();
+                } else {
+                    currentInvocation.set(previousInvocation);
+                }
+            }
+        }
+
+        if (saveAggregateAfterwards
+                && !support.getTaskProperties().isReadOnly()
+                && !toBeSaved.isEmpty()) {
+            saveWorkflowAggregates(toBeSaved);
+        }
+
+        following.forEach(job -> executeSingle(job, saveAggregateAfterwards));
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private void executeSingle(
+            final TaskBatchJob job,
+            final boolean saveAggregateAfterwards) {
+
+        try {
+            job.setResult(execute(
+                    job.getWorkflowAggregateCache(),
+                    job.getWorkflowAggregateId(),
+                    saveAggregateAfterwards,
+                    job.getParameterProcessors().toArray(BiFunction[]::new)));
+        } catch (Exception e) {
+            job.setFailure(e);
+        }
+
+    }
+
+    private Map<Object, Object> loadWorkflowAggregates(
+            final List<TaskBatchJob> jobs) {
+
+        final var springDataUtil = support.getSpringDataUtil();
+        if (springDataUtil == null) {
+            return Map.of();
+        }
+
+        final var ids = jobs
+                .stream()
+                .map(TaskBatchJob::getWorkflowAggregateId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        final var result = new HashMap<>();
+        workflowAggregateRepository
+                .findAllById(ids)
+                .forEach(workflowAggregate -> result.put(
+                        springDataUtil.getId(workflowAggregate),
+                        workflowAggregate));
+        return result;
+
+    }
+
+    private void saveWorkflowAggregates(
+            final List<TaskBatchJob> toBeSaved) {
+
+        try {
+
+            final var saved = workflowAggregateRepository
+                    .saveAll(toBeSaved
+                            .stream()
+                            .map(job -> job.getWorkflowAggregateCache().workflowAggregate)
+                            .toList())
+                    .iterator();
+            for (final var job : toBeSaved) {
+                job.getWorkflowAggregateCache().workflowAggregate = saved.next();
+            }
+
+        } catch (Exception e) {
+
+            getLogger().debug(
+                    "Saving workflow aggregates of batch for method '{}' failed, saving them one by one",
+                    method,
+                    e);
+            toBeSaved.forEach(job -> {
+                try {
+                    job.getWorkflowAggregateCache().workflowAggregate = saveWorkflowAggregate(
+                            job.getWorkflowAggregateCache().workflowAggregate);
+                } catch (Exception saveException) {
+                    job.setFailure(saveException);
+                }
+            });
+
+        } finally {
+
+            toBeSaved
+                    .stream()
+                    .map(TaskBatchJob::getWorkflowAggregateId)
+                    .filter(Objects::nonNull)
+                    .forEach(this::invalidateCachedWorkflowAggregate);
+
+        }
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R invoke(
+            final WorkflowAggregateCache workflowAggregateCache,
+            final Object workflowAggregateId,
+            final boolean saveAggregateAfterwards,
+            final List<BiFunction<Object[], MethodParameter, Boolean>> parameterProcessors)
+            throws Exception {
+
         final var args = new Object[parameters.size()];
         
         // first, find domain entity as a parameter if required
@@ -70,8 +590,7 @@ public abstract class TaskHandlerBase {
         final var parameterStream = MutableStream
                 .from(parameters.stream());
         
-        Arrays
-                .stream(parameterProcessors)
+        parameterProcessors
                 .forEach(parameterProcessor -> {
                     parameterStream.apply(s ->
                             s.filter(param -> parameterProcessor.apply(args, param)));
@@ -96,13 +615,34 @@ public abstract class TaskHandlerBase {
                 throw new RuntimeException(e);
             }
 
+        } finally {
+
+            // replace the proxy by the entity itself to be saved or serialized.
+            // if not accessed, it is neither saved nor loaded unless the adapter asks for it
+            final var lazyWorkflowAggregate = currentInvocation.get().lazyWorkflowAggregate;
+            if (lazyWorkflowAggregate != null) {
+                workflowAggregateCache.workflowAggregate = lazyWorkflowAggregate.getWorkflowAggregate();
+                if (workflowAggregateCache.workflowAggregate == null) {
+                    workflowAggregateCache.setLoader(lazyWorkflowAggregate::load);
+                }
+            }
+
         }
 
+        final var snapshot = currentInvocation.get().workflowAggregateSnapshot;
         if ((workflowAggregateCache.workflowAggregate != null)
-                && saveAggregateAfterwards) {
+                && saveAggregateAfterwards
+                && !support.getTaskProperties().isReadOnly()
+                && !deferSave(workflowAggregateId, workflowAggregateCache.workflowAggregate, snapshot)) {
             workflowAggregateCache.workflowAggregate =
-                    workflowAggregateRepository
-                            .save(workflowAggregateCache.workflowAggregate);
+                    saveWorkflowAggregate(workflowAggregateId, workflowAggregateCache.workflowAggregate, snapshot);
+        }
+        if ((workflowAggregateCache.workflowAggregate != null)
+                && support.getTaskProperties().isReadOnly()
+                && (support.getSpringDataUtil() != null)) {
+            support
+                    .getSpringDataUtil()
+                    .release(workflowAggregateCache.workflowAggregate);
         }
 
         return result;
@@ -190,37 +730,49 @@ public abstract class TaskHandlerBase {
         
     }
     
+    /**
+     * @return The multi-instance context of the current invocation or a context
+     *         not shared with other callers if not called as part of an invocation.
+     */
+    private MultiInstanceContext getMultiInstanceContext() {
+
+        final var invocation = currentInvocation.get();
+        if (invocation == null) {
+            return new MultiInstanceContext();
+        }
+        return invocation.multiInstances;
+
+    }
+
     @SuppressWarnings("unchecked")
     protected MultiInstance<Object> getMultiInstance(final String name,
             final Function<String, Object> multiInstanceSupplier) {
 
-        return (MultiInstance<Object>) multiInstanceSupplier.apply(name);
+        return (MultiInstance<Object>) getMultiInstanceContext().get(name, multiInstanceSupplier);
 
     }
 
-    @SuppressWarnings("unchecked")
     protected Object getMultiInstanceElement(final String name, final Function<String, Object> multiInstanceSupplier) {
 
-        return ((MultiInstance<Object>) multiInstanceSupplier.apply(name)).getElement();
+        return getMultiInstanceContext().getElement(name, multiInstanceSupplier);
 
     }
 
-    @SuppressWarnings("unchecked")
     protected Integer getMultiInstanceTotal(final String name, final Function<String, Object> multiInstanceSupplier) {
 
-        return ((MultiInstance<Object>) multiInstanceSupplier.apply(name)).getTotal();
+        return getMultiInstanceContext().getTotal(name, multiInstanceSupplier);
 
     }
 
-    @SuppressWarnings("unchecked")
     protected Integer getMultiInstanceIndex(
             final String name,
             final Function<String, Object> multiInstanceSupplier) {
 
-        return ((MultiInstance<Object>) multiInstanceSupplier.apply(name)).getIndex();
+        return getMultiInstanceContext().getIndex(name, multiInstanceSupplier);
 
     }
 
+    @SuppressWarnings("unchecked")
     protected boolean processMultiInstanceResolverParameter(
             final Object[] args,
             final MethodParameter param,
@@ -231,19 +783,37 @@ public abstract class TaskHandlerBase {
             return true;
         }
         
-        @SuppressWarnings("unchecked")
+        final var resolverParameter = (ResolverBasedMultiInstanceMethodParameter) param;
         final var resolver =
-                (MultiInstanceElementResolver<Object, Object>)
-                ((ResolverBasedMultiInstanceMethodParameter) param).getResolverBean();
+                (MultiInstanceElementResolver<Object, Object>) resolverParameter.getResolverBean();
 
-        final var multiInstances = new HashMap<String, MultiInstanceElementResolver.MultiInstance<Object>>();
-        
-        resolver
-                .getNames()
-                .forEach(name -> multiInstances.put(name, getMultiInstance(name, multiInstanceSupplier)));
+        final var names = resolverParameter.getNames();
+        final var multiInstances = new MultiInstanceMap(names);
+        for (int i = 0; i < names.length; ++i) {
+            multiInstances.set(i, getMultiInstance(names[i], multiInstanceSupplier));
+        }
+
+        final var invocation = currentInvocation.get();
+        final var workflowAggregateId = invocation == null ? null : invocation.workflowAggregateId;
+        final var indexes = resolverParameter.isCachingResults() ? multiInstances.getIndexes() : null;
 
         try {
-            args[param.getIndex()] = resolver.resolve(workflowAggregate.get(), multiInstances);
+            // id-based resolvers do not need the workflow aggregate, so it is not loaded
+            // if no other parameter requires it
+            final var aggregate = resolverParameter.isIdBased()
+                    ? null
+                    : workflowAggregate.get();
+            final var cachedResult = resolverParameter.getCachedResult(workflowAggregateId, indexes);
+            if (cachedResult != null) {
+                args[param.getIndex()] = cachedResult;
+                return false;
+            }
+            final var result = resolverParameter.isIdBased()
+                    ? ((IdBasedMultiInstanceElementResolver<Object, Object>) resolver)
+                            .resolveById(workflowAggregateId, multiInstances)
+                    : resolver.resolve(aggregate, multiInstances);
+            resolverParameter.cacheResult(workflowAggregateId, indexes, result);
+            args[param.getIndex()] = result;
         } catch (Exception e) {
             throw new RuntimeException(
                     "Failed processing MultiInstanceElementResolver for parameter '"
@@ -266,8 +836,9 @@ public abstract class TaskHandlerBase {
             return true;
         }
         
-        args[param.getIndex()] = taskParameterSupplier.apply(
-                ((TaskParameter) param).getName());
+        final var taskParameter = (TaskParameter) param;
+        args[param.getIndex()] = taskParameter.convert(
+                taskParameterSupplier.apply(taskParameter.getName()));
         
         return false;
         
@@ -283,17 +854,167 @@ public abstract class TaskHandlerBase {
             return true;
         }
         
+        final var preloadedWorkflowAggregate = currentInvocation.get().preloadedWorkflowAggregate;
+        if (preloadedWorkflowAggregate != null) {
+
+            workflowAggregateCache.workflowAggregate = preloadedWorkflowAggregate;
+
+        } else if (support.getTaskProperties().isLazyWorkflowAggregate()) {
+
+            // the proxy is replaced by the loaded entity after the method was invoked
+            // to avoid saving or serializing the proxy
+            final var invocation = currentInvocation.get();
+            final var lazyWorkflowAggregate = new LazyWorkflowAggregate(
+                    support.getWorkflowAggregateClass(),
+                    workflowAggregateId,
+                    () -> loadWorkflowAggregate(invocation, workflowAggregateId));
+            invocation.lazyWorkflowAggregate = lazyWorkflowAggregate;
+            workflowAggregateCache.workflowAggregate = lazyWorkflowAggregate.getProxy();
+
+        } else {
+
+            workflowAggregateCache.workflowAggregate = loadWorkflowAggregate(
+                    currentInvocation.get(),
+                    workflowAggregateId);
+
+        }
+
+        args[param.getIndex()] = workflowAggregateCache.workflowAggregate;
+
+        return false;
+        
+    }
+
+    private boolean isWriteBehind() {
+
+        return support.getTaskExecutionProperties().isWriteBehind()
+                && (support.getWorkflowAggregateClass() != null);
+
+    }
+
+    private boolean isPartialUpdates() {
+
+        return support.getTaskExecutionProperties().isPartialUpdates()
+                && (support.getSpringDataUtil() != null);
+
+    }
+
+    private Object loadWorkflowAggregate(
+            final Invocation invocation,
+            final Object workflowAggregateId) {
+
+        final var workflowAggregate = loadWorkflowAggregate(workflowAggregateId);
+        if (isPartialUpdates()
+                && !support.getTaskProperties().isReadOnly()) {
+            invocation.workflowAggregateSnapshot = support
+                    .getSpringDataUtil()
+                    .snapshot(workflowAggregate);
+        }
+        return workflowAggregate;
+
+    }
+
+    private Object saveWorkflowAggregate(
+            final Object workflowAggregateId,
+            final Object workflowAggregate,
+            final Object snapshot) {
+
+        try {
+            if (snapshot == null) {
+                return saveWorkflowAggregate(workflowAggregate);
+            }
+            return support
+                    .getSpringDataUtil()
+                    .save(workflowAggregate, snapshot);
+        } finally {
+            invalidateCachedWorkflowAggregate(workflowAggregateId);
+        }
+
+    }
+
+    private void invalidateCachedWorkflowAggregate(
+            final Object workflowAggregateId) {
+
+        final var caches = support.getWorkflowAggregateCaches();
+        if (caches != null) {
+            caches.invalidate(support.getWorkflowAggregateClass(), workflowAggregateId);
+        }
+
+    }
+
+    private boolean deferSave(
+            final Object workflowAggregateId,
+            final Object workflowAggregate,
+            final Object snapshot) {
+
+        return isWriteBehind()
+                && (workflowAggregateId != null)
+                && WriteBehindSaves.defer(
+                        support.getWorkflowAggregateClass(),
+                        workflowAggregateId,
+                        workflowAggregate,
+                        w -> saveWorkflowAggregate(workflowAggregateId, w, snapshot));
+
+    }
+
+    protected Object loadWorkflowAggregate(
+            final Object workflowAggregateId) {
+
+        if (isWriteBehind()) {
+            // a previous task of the same transaction may have changed it
+            final var pending = WriteBehindSaves.getPending(
+                    support.getWorkflowAggregateClass(),
+                    workflowAggregateId);
+            if (pending != null) {
+                return pending;
+            }
+        }
+
+        final var taskProperties = support.getTaskProperties();
+        if ((taskProperties.isReadOnly()
+                    || (taskProperties.getEntityGraph() != null)
+                    || !taskProperties.getFetchPlan().isEmpty())
+                && (support.getSpringDataUtil() != null)
+                && (support.getWorkflowAggregateClass() != null)) {
+            final Supplier<Object> loader = () -> support
+                    .getSpringDataUtil()
+                    .findById(
+                            support.getWorkflowAggregateClass(),
+                            workflowAggregateId,
+                            taskProperties.isReadOnly(),
+                            taskProperties.getEntityGraph(),
+                            taskProperties.getFetchPlan());
+            final var caches = support.getWorkflowAggregateCaches();
+            if (taskProperties.isReadOnly()
+                    && (caches != null)
+                    && caches.isCached(support.getWorkflowAggregateClass())) {
+                return caches.get(support.getWorkflowAggregateClass(), workflowAggregateId, loader);
+            }
+            return loader.get();
+        }
+        if (support.getTaskExecutionProperties().isSharedLoading()
+                && (support.getSpringDataUtil() != null)
+                && (support.getWorkflowAggregateClass() != null)) {
+            return support
+                    .getSpringDataUtil()
+                    .findByIdShared(support.getWorkflowAggregateClass(), workflowAggregateId);
+        }
+
         // Using findById is required to get an object instead of a Hibernate proxy.
         // Otherwise for e.g. Camunda8 connector JSON serialization of the
         // workflow aggregate is not possible.
-        workflowAggregateCache.workflowAggregate = workflowAggregateRepository
+        return workflowAggregateRepository
                 .findById(workflowAggregateId)
                 .orElse(null);
 
-        args[param.getIndex()] = workflowAggregateCache.workflowAggregate;
+    }
+
+    protected Object saveWorkflowAggregate(
+            final Object workflowAggregate) {
+
+        return workflowAggregateRepository
+                .save(workflowAggregate);
 
-        return false;
-        
     }
     
 }
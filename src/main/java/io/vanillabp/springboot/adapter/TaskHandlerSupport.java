@@ -0,0 +1,101 @@
+package io.vanillabp.springboot.adapter;
+
+/**
+ * Everything a {@link TaskHandlerBase} needs besides the method to be called
+ * to apply the features configured for the particular workflow task.
+ *
+ * @see TaskWiringBase#getTaskHandlerSupport(String, ProcessServiceImplementation, Connectable)
+ */
+public class TaskHandlerSupport {
+
+    private final SpringDataUtil springDataUtil;
+
+    private final Class<?> workflowAggregateClass;
+
+    private final VanillaBpProperties.WorkflowTaskProperties taskProperties;
+
+    private final VanillaBpProperties.TaskExecutionProperties taskExecutionProperties;
+
+    private final WorkflowAggregateLocks workflowAggregateLocks;
+
+    private final WorkflowAggregateCaches workflowAggregateCaches;
+
+    public TaskHandlerSupport(
+            final SpringDataUtil springDataUtil,
+            final Class<?> workflowAggregateClass,
+            final VanillaBpProperties.WorkflowTaskProperties taskProperties,
+            final VanillaBpProperties.TaskExecutionProperties taskExecutionProperties,
+            final WorkflowAggregateLocks workflowAggregateLocks,
+            final WorkflowAggregateCaches workflowAggregateCaches) {
+
+        this.springDataUtil = springDataUtil;
+        this.workflowAggregateClass = workflowAggregateClass;
+        this.taskProperties = taskProperties;
+        this.taskExecutionProperties = taskExecutionProperties;
+        this.workflowAggregateLocks = workflowAggregateLocks;
+        this.workflowAggregateCaches = workflowAggregateCaches;
+
+    }
+
+    /**
+     * Default support used by handlers not aware of task specific features.
+     */
+    public static TaskHandlerSupport defaults() {
+
+        return new TaskHandlerSupport(
+                null,
+                null,
+                new VanillaBpProperties.WorkflowTaskProperties(),
+                new VanillaBpProperties.TaskExecutionProperties(),
+                null,
+                null);
+
+    }
+
+    /**
+     * @return The spring data util or <i>null</i> if not available
+     */
+    public SpringDataUtil getSpringDataUtil() {
+
+        return springDataUtil;
+
+    }
+
+    public Class<?> getWorkflowAggregateClass() {
+
+        return workflowAggregateClass;
+
+    }
+
+    public VanillaBpProperties.WorkflowTaskProperties getTaskProperties() {
+
+        return taskProperties;
+
+    }
+
+    public VanillaBpProperties.TaskExecutionProperties getTaskExecutionProperties() {
+
+        return taskExecutionProperties;
+
+    }
+
+    /**
+     * @return The locks used to serialize tasks of the same workflow aggregate
+     *         or <i>null</i> if not configured
+     */
+    public WorkflowAggregateLocks getWorkflowAggregateLocks() {
+
+        return workflowAggregateLocks;
+
+    }
+
+    /**
+     * @return The caches of workflow aggregates or <i>null</i> if not available
+     */
+    public WorkflowAggregateCaches getWorkflowAggregateCaches() {
+
+        return workflowAggregateCaches;
+
+    }
+
+}
@@ -76,6 +76,41 @@ public abstract class TaskWiringBase<T extends Connectable, PS extends ProcessSe
             Method method,
             List<MethodParameter> parameters);
 
+    /**
+     * @param workflowModuleId The workflow module's id
+     * @param processService The process service the task belongs to
+     * @param connectable The task
+     * @return The support to be passed to the task's {@link TaskHandlerBase}
+     */
+    protected TaskHandlerSupport getTaskHandlerSupport(
+            final String workflowModuleId,
+            final PS processService,
+            final T connectable) {
+
+        final var properties = applicationContext
+                .getBeanProvider(VanillaBpProperties.class)
+                .getIfAvailable(VanillaBpProperties::new);
+
+        return new TaskHandlerSupport(
+                applicationContext
+                        .getBeanProvider(SpringDataUtil.class)
+                        .getIfAvailable(),
+                processService.getWorkflowAggregateClass(),
+                properties.getWorkflowTaskPropertiesFor(
+                        workflowModuleId,
+                        connectable.getBpmnProcessId(),
+                        connectable.getTaskDefinition(),
+                        connectable.getElementId()),
+                properties.getTaskExecution(),
+                applicationContext
+                        .getBeanProvider(WorkflowAggregateLocks.class)
+                        .getIfAvailable(),
+                applicationContext
+                        .getBeanProvider(WorkflowAggregateCaches.class)
+                        .getIfAvailable());
+
+    }
+
     protected boolean methodMatchesElementId(
             final T connectable,
             final Method method,
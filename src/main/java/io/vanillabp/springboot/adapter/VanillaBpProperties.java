@@ -7,6 +7,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -23,6 +24,29 @@ public class VanillaBpProperties {
 
     private Map<String, WorkflowModuleAdapterProperties> workflowModules = Map.of();
 
+    private ReadReplicaProperties readReplica;
+
+    private TaskExecutionProperties taskExecution = new TaskExecutionProperties();
+
+    private Map<String, WorkflowAggregateCacheProperties> workflowAggregateCaches = Map.of();
+
+    /**
+     * Directory of the local manifest of deployed resources used to detect
+     * changes since the last successful deployment. If not set, every
+     * deployment is treated as a change.
+     */
+    private String deploymentManifestLocation;
+
+    private BpmnModelCacheProperties bpmnModelCache = new BpmnModelCacheProperties();
+
+    /**
+     * Directory of results of scanning BPMN resources used to skip parsing
+     * unchanged resources on restart. If not set, resources are always parsed.
+     */
+    private String bpmnScanCacheLocation;
+
+    private DeploymentCoordinationProperties deploymentCoordination = new DeploymentCoordinationProperties();
+
     public Map<String, WorkflowModuleAdapterProperties> getWorkflowModules() {
         return workflowModules;
     }
@@ -41,6 +65,34 @@ public class VanillaBpProperties {
 
     public void setDefaultAdapter(List<String> defaultAdapter) { this.defaultAdapter = defaultAdapter; }
 
+    public ReadReplicaProperties getReadReplica() { return readReplica; }
+
+    public void setReadReplica(ReadReplicaProperties readReplica) { this.readReplica = readReplica; }
+
+    public TaskExecutionProperties getTaskExecution() { return taskExecution; }
+
+    public void setTaskExecution(TaskExecutionProperties taskExecution) { this.taskExecution = taskExecution; }
+
+    public Map<String, WorkflowAggregateCacheProperties> getWorkflowAggregateCaches() { return workflowAggregateCaches; }
+
+    public void setWorkflowAggregateCaches(Map<String, WorkflowAggregateCacheProperties> workflowAggregateCaches) { this.workflowAggregateCaches = workflowAggregateCaches; }
+
+    public String getDeploymentManifestLocation() { return deploymentManifestLocation; }
+
+    public void setDeploymentManifestLocation(String deploymentManifestLocation) { this.deploymentManifestLocation = deploymentManifestLocation; }
+
+    public BpmnModelCacheProperties getBpmnModelCache() { return bpmnModelCache; }
+
+    public void setBpmnModelCache(BpmnModelCacheProperties bpmnModelCache) { this.bpmnModelCache = bpmnModelCache; }
+
+    public String getBpmnScanCacheLocation() { return bpmnScanCacheLocation; }
+
+    public void setBpmnScanCacheLocation(String bpmnScanCacheLocation) { this.bpmnScanCacheLocation = bpmnScanCacheLocation; }
+
+    public DeploymentCoordinationProperties getDeploymentCoordination() { return deploymentCoordination; }
+
+    public void setDeploymentCoordination(DeploymentCoordinationProperties deploymentCoordination) { this.deploymentCoordination = deploymentCoordination; }
+
     public static class AdapterConfiguration {
         
         private String resourcesLocation;
@@ -103,6 +155,8 @@ public class VanillaBpProperties {
 
         WorkflowModuleAdapterProperties workflowModule;
 
+        private Map<String, WorkflowTaskProperties> tasks = Map.of();
+
         public WorkflowModuleAdapterProperties getWorkflowModule() {
             return workflowModule;
         }
@@ -111,6 +165,425 @@ public class VanillaBpProperties {
             return bpmnProcessId;
         }
 
+        /**
+         * @return Properties of workflow tasks, key is the task-definition or the element-id
+         */
+        public Map<String, WorkflowTaskProperties> getTasks() {
+            return tasks;
+        }
+
+        public void setTasks(Map<String, WorkflowTaskProperties> tasks) {
+
+            this.tasks = tasks;
+            tasks.forEach((taskId, properties) -> {
+                properties.taskId = taskId;
+                properties.workflow = this;
+            });
+
+        }
+
+    }
+
+    public static class WorkflowTaskProperties {
+
+        String taskId;
+
+        WorkflowAdapterProperties workflow;
+
+        /**
+         * If set, the workflow aggregate is passed as a proxy which is loaded
+         * on first access. If the proxy is not accessed, the workflow aggregate
+         * is neither loaded nor saved.
+         */
+        private boolean lazyWorkflowAggregate = false;
+
+        /**
+         * If set, the workflow aggregate is loaded read-only and not saved
+         * after the workflow task's method was called.
+         */
+        private boolean readOnly = false;
+
+        /**
+         * Name of a JPA named entity graph used to load the workflow aggregate.
+         */
+        private String entityGraph;
+
+        /**
+         * Attribute paths (e.g. "driver.address") fetched when loading the workflow
+         * aggregate: for JPA a fetch graph, for MongoDb a field projection which
+         * is only applied to read-only tasks.
+         */
+        private List<String> fetchPlan = List.of();
+
+        public String getTaskId() {
+            return taskId;
+        }
+
+        public WorkflowAdapterProperties getWorkflow() {
+            return workflow;
+        }
+
+        public boolean isLazyWorkflowAggregate() {
+            return lazyWorkflowAggregate;
+        }
+
+        public void setLazyWorkflowAggregate(boolean lazyWorkflowAggregate) {
+            this.lazyWorkflowAggregate = lazyWorkflowAggregate;
+        }
+
+        public boolean isReadOnly() {
+            return readOnly;
+        }
+
+        public void setReadOnly(boolean readOnly) {
+            this.readOnly = readOnly;
+        }
+
+        public String getEntityGraph() {
+            return entityGraph;
+        }
+
+        public void setEntityGraph(String entityGraph) {
+            this.entityGraph = entityGraph;
+        }
+
+        public List<String> getFetchPlan() {
+            return fetchPlan;
+        }
+
+        public void setFetchPlan(List<String> fetchPlan) {
+            this.fetchPlan = fetchPlan == null ? List.of() : fetchPlan;
+        }
+
+    }
+
+    /**
+     * Settings applied to the execution of all workflow tasks.
+     */
+    public static class TaskExecutionProperties {
+
+        /**
+         * Number of in-process retries of a workflow task failing due to an
+         * optimistic locking conflict. Retries are only done if the task is not
+         * executed within a transaction. The task's method has to be idempotent
+         * since it is called again.
+         */
+        private int optimisticLockingRetries = 0;
+
+        /**
+         * Backoff before the first retry, doubled for each further retry.
+         */
+        private Duration retryBackoff = Duration.ofMillis(10);
+
+        /**
+         * Upper bound of the backoff. The backoff used is a random value up to
+         * the computed one to spread concurrent retries.
+         */
+        private Duration maxRetryBackoff = Duration.ofMillis(200);
+
+        /**
+         * If greater than 0, workflow tasks of the same workflow aggregate are serialized
+         * within this node by using this number of striped locks.
+         */
+        private int lockStripes = 0;
+
+        /**
+         * Maximum time to wait for a lock. Afterwards the workflow task is executed
+         * without lock.
+         */
+        private Duration lockWaitTimeout = Duration.ofSeconds(5);
+
+        /**
+         * If set, concurrent loads of the same workflow aggregate share one round
+         * trip to the database if supported by the persistence technology. For
+         * MongoDB entity callbacks and lifecycle events are skipped.
+         */
+        private boolean sharedLoading = false;
+
+        /**
+         * If set, saves of the same workflow aggregate within one transaction are
+         * coalesced and done once right before the transaction commits.
+         */
+        private boolean writeBehind = false;
+
+        /**
+         * If set, only the changes of workflow aggregates are written on saving
+         * if supported by the persistence technology (e.g. MongoDb).
+         */
+        private boolean partialUpdates = false;
+
+        public int getOptimisticLockingRetries() {
+            return optimisticLockingRetries;
+        }
+
+        public void setOptimisticLockingRetries(int optimisticLockingRetries) {
+            this.optimisticLockingRetries = optimisticLockingRetries;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public Duration getMaxRetryBackoff() {
+            return maxRetryBackoff;
+        }
+
+        public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+            this.maxRetryBackoff = maxRetryBackoff;
+        }
+
+        public int getLockStripes() {
+            return lockStripes;
+        }
+
+        public void setLockStripes(int lockStripes) {
+            this.lockStripes = lockStripes;
+        }
+
+        public Duration getLockWaitTimeout() {
+            return lockWaitTimeout;
+        }
+
+        public void setLockWaitTimeout(Duration lockWaitTimeout) {
+            this.lockWaitTimeout = lockWaitTimeout;
+        }
+
+        public boolean isSharedLoading() {
+            return sharedLoading;
+        }
+
+        public void setSharedLoading(boolean sharedLoading) {
+            this.sharedLoading = sharedLoading;
+        }
+
+        public boolean isWriteBehind() {
+            return writeBehind;
+        }
+
+        public void setWriteBehind(boolean writeBehind) {
+            this.writeBehind = writeBehind;
+        }
+
+        public boolean isPartialUpdates() {
+            return partialUpdates;
+        }
+
+        public void setPartialUpdates(boolean partialUpdates) {
+            this.partialUpdates = partialUpdates;
+        }
+
+    }
+
+    /**
+     * Cache of workflow aggregates of one class (the key of the map) used by
+     * read-only workflow tasks.
+     */
+    public static class WorkflowAggregateCacheProperties {
+
+        private long maximumSize = 1000;
+
+        /**
+         * If set, the cache is bounded by the weight of the workflow aggregates
+         * (see {@link SpringDataUtil#getWeight(Object)}) instead of their number.
+         */
+        private Long maximumWeight;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+        /**
+         * If set, the version of a cached workflow aggregate is compared to the
+         * one stored in the database before using it.
+         */
+        private boolean verifyVersion = true;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(Long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public boolean isVerifyVersion() {
+            return verifyVersion;
+        }
+
+        public void setVerifyVersion(boolean verifyVersion) {
+            this.verifyVersion = verifyVersion;
+        }
+
+    }
+
+    /**
+     * Lifecycle of models shared between adapters during deployment.
+     */
+    public static class BpmnModelCacheProperties {
+
+        /**
+         * If set, a workflow module's model is released once all adapters
+         * processed it.
+         */
+        private boolean release = true;
+
+        /**
+         * If set, released models are kept until the garbage collector
+         * needs the memory.
+         */
+        private boolean softRetention = false;
+
+        public boolean isRelease() {
+            return release;
+        }
+
+        public void setRelease(boolean release) {
+            this.release = release;
+        }
+
+        public boolean isSoftRetention() {
+            return softRetention;
+        }
+
+        public void setSoftRetention(boolean softRetention) {
+            this.softRetention = softRetention;
+        }
+
+    }
+
+    /**
+     * Coordination of deployments of multiple instances of the application
+     * using a lock table of the application's data source.
+     *
+     * @see DeploymentCoordinator
+     */
+    public static class DeploymentCoordinationProperties {
+
+        private boolean enabled = false;
+
+        private String tableName = "VANILLABP_DEPLOYMENTS";
+
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Time to wait for another instance's deployment before deploying
+         * on our own.
+         */
+        private Duration waitTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Time after which a deployment whose elected instance stopped to
+         * report progress is taken over by another instance. The elected
+         * instance reports progress every third of this time.
+         */
+        private Duration staleTimeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public void setTableName(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+
+        public Duration getStaleTimeout() {
+            return staleTimeout;
+        }
+
+        public void setStaleTimeout(Duration staleTimeout) {
+            this.staleTimeout = staleTimeout;
+        }
+
+    }
+
+    /**
+     * Connection of a read replica used for read-only operations (e.g. loading
+     * workflow aggregates of read-only tasks or history lookups).
+     */
+    public static class ReadReplicaProperties {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
     }
 
     private static class AdapterProperties {
@@ -150,6 +623,42 @@ public class VanillaBpProperties {
 
     }
 
+    /**
+     * @param workflowModuleId The workflow module's id
+     * @param bpmnProcessId The BPMN process id
+     * @param taskDefinition The task's task-definition, may be <i>null</i>
+     * @param elementId The task's BPMN element id
+     * @return The properties configured for the task's definition or element-id
+     *         or default properties if there are no specific properties.
+     */
+    public WorkflowTaskProperties getWorkflowTaskPropertiesFor(
+            final String workflowModuleId,
+            final String bpmnProcessId,
+            final String taskDefinition,
+            final String elementId) {
+
+        final var workflowModule = getWorkflowModules().get(workflowModuleId);
+        if (workflowModule != null) {
+            final var workflow = workflowModule.getWorkflows().get(bpmnProcessId);
+            if (workflow != null) {
+                if (taskDefinition != null) {
+                    final var task = workflow.getTasks().get(taskDefinition);
+                    if (task != null) {
+                        return task;
+                    }
+                }
+                if (elementId != null) {
+                    final var task = workflow.getTasks().get(elementId);
+                    if (task != null) {
+                        return task;
+                    }
+                }
+            }
+        }
+        return new WorkflowTaskProperties();
+
+    }
+
     public String getAdapterResourcesLocationFor(
             final String workflowModuleId,
             final String adapterId) {
@@ -0,0 +1,207 @@
+package io.vanillabp.springboot.adapter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Caches of workflow aggregates used by read-only workflow tasks, one per
+ * workflow aggregate class configured. Entries are invalidated on every save
+ * done by task handlers. If configured, the version of a cached workflow
+ * aggregate is compared to the version stored in the database before it is
+ * used to detect changes done elsewhere (e.g. by other nodes).
+ * <p>
+ * Since the database is changed on commit, invalidated entries are invalidated
+ * again after the transaction committed. Otherwise a concurrent load between the
+ * save and the commit could cache the previous state.
+ * <p>
+ * Cached workflow aggregates are shared by all read-only tasks and therefore
+ * must not be modified. For JPA they are detached before they are cached, so lazy
+ * associations have to be fetched on loading (see fetch-plans of workflow tasks).
+ * Workflow aggregates which cannot be detached (e.g. used by another task of the
+ * same transaction) are not cached.
+ *
+ * @see VanillaBpProperties.WorkflowAggregateCacheProperties
+ */
+public class WorkflowAggregateCaches {
+
+    private static final boolean TRANSACTIONS_PRESENT = ClassUtils.isPresent(
+            "org.springframework.transaction.support.TransactionSynchronizationManager",
+            WorkflowAggregateCaches.class.getClassLoader());
+
+    private final SpringDataUtil springDataUtil;
+
+    private final Map<String, Cache<Object, Object>> caches = new HashMap<>();
+
+    private final Map<String, VanillaBpProperties.WorkflowAggregateCacheProperties> properties;
+
+    public WorkflowAggregateCaches(
+            final SpringDataUtil springDataUtil,
+            final Map<String, VanillaBpProperties.WorkflowAggregateCacheProperties> properties) {
+
+        this.springDataUtil = springDataUtil;
+        this.properties = properties;
+
+        properties.forEach((workflowAggregateClass, cacheProperties) -> caches.put(
+                workflowAggregateClass,
+                buildCache(cacheProperties)));
+
+    }
+
+    private Cache<Object, Object> buildCache(
+            final VanillaBpProperties.WorkflowAggregateCacheProperties cacheProperties) {
+
+        final var builder = Caffeine
+                .newBuilder()
+                .recordStats();
+        if (cacheProperties.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(cacheProperties.getExpireAfterWrite());
+        }
+        if (cacheProperties.getMaximumWeight() != null) {
+            builder
+                    .maximumWeight(cacheProperties.getMaximumWeight())
+                    .weigher((id, workflowAggregate) -> springDataUtil.getWeight(workflowAggregate));
+        } else {
+            builder.maximumSize(cacheProperties.getMaximumSize());
+        }
+        return builder.build();
+
+    }
+
+    public boolean isCached(
+            final Class<?> workflowAggregateClass) {
+
+        return (workflowAggregateClass != null)
+                && caches.containsKey(workflowAggregateClass.getName());
+
+    }
+
+    /**
+     * @param workflowAggregateClass The workflow aggregate's class
+     * @param workflowAggregateId The workflow aggregate's id
+     * @param loader Loads the workflow aggregate on cache misses
+     * @return The workflow aggregate or <i>null</i> if not found
+     */
+    public Object get(
+            final Class<?> workflowAggregateClass,
+            final Object workflowAggregateId,
+            final Supplier<Object> loader) {
+
+        final var cache = caches.get(workflowAggregateClass.getName());
+        if ((cache == null)
+                || (workflowAggregateId == null)) {
+            return loader.get();
+        }
+
+        final var cached = cache.getIfPresent(workflowAggregateId);
+        if ((cached != null)
+                && properties.get(workflowAggregateClass.getName()).isVerifyVersion()
+                && !isCurrentVersion(workflowAggregateClass, workflowAggregateId, cached)) {
+            cache.asMap().remove(workflowAggregateId, cached);
+        } else if (cached != null) {
+            return cached;
+        }
+
+        final var loaded = new AtomicReference<>();
+        final var result = cache.get(workflowAggregateId, id -> {
+            final var workflowAggregate = loader.get();
+            loaded.set(workflowAggregate);
+            // entities bound to a persistence context must not be shared across threads
+            return (workflowAggregate != null) && springDataUtil.detach(workflowAggregate)
+                    ? workflowAggregate
+                    : null;
+        });
+        return result != null ? result : loaded.get();
+
+    }
+
+    private boolean isCurrentVersion(
+            final Class<?> workflowAggregateClass,
+            final Object workflowAggregateId,
+            final Object cached) {
+
+        final var cachedVersion = springDataUtil.getVersion(cached);
+        if (cachedVersion == null) {
+            return true;
+        }
+        final var currentVersion = springDataUtil.findVersion(workflowAggregateClass, workflowAggregateId);
+        if ((cachedVersion instanceof Number cachedNumber)
+                && (currentVersion instanceof Number currentNumber)) {
+            return cachedNumber.longValue() == currentNumber.longValue();
+        }
+        return Objects.equals(cachedVersion, currentVersion);
+
+    }
+
+    public void invalidate(
+            final Class<?> workflowAggregateClass,
+            final Object workflowAggregateId) {
+
+        if ((workflowAggregateClass == null)
+                || (workflowAggregateId == null)) {
+            return;
+        }
+        final var cache = caches.get(workflowAggregateClass.getName());
+        if (cache == null) {
+            return;
+        }
+
+        cache.invalidate(workflowAggregateId);
+        if (TRANSACTIONS_PRESENT) {
+            AfterCommit.register(() -> cache.invalidate(workflowAggregateId));
+        }
+
+    }
+
+    /**
+     * Kept separate since spring-tx is an optional dependency.
+     */
+    private static class AfterCommit {
+
+        static void register(
+                final Runnable runnable) {
+
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+
+        }
+
+    }
+
+    /**
+     * @return The caches by workflow aggregate class name, e.g. to export metrics
+     */
+    public Map<String, Cache<Object, Object>> getCaches() {
+
+        return caches;
+
+    }
+
+    /**
+     * @param workflowAggregateClass The workflow aggregate's class
+     * @return Hit/miss statistics or <i>null</i> if the class is not cached
+     */
+    public CacheStats getStats(
+            final Class<?> workflowAggregateClass) {
+
+        final var cache = caches.get(workflowAggregateClass.getName());
+        return cache == null ? null : cache.stats();
+
+    }
+
+}
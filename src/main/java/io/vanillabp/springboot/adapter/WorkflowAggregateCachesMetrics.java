@@ -0,0 +1,43 @@
+package io.vanillabp.springboot.adapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Exposes hit/miss statistics of {@link WorkflowAggregateCaches} tagged by
+ * the workflow aggregate class.
+ */
+public class WorkflowAggregateCachesMetrics implements MeterBinder {
+
+    private static final String CACHE_NAME_PREFIX = "vanillabp.workflow-aggregate.";
+
+    private final ObjectProvider<WorkflowAggregateCaches> caches;
+
+    public WorkflowAggregateCachesMetrics(
+            final ObjectProvider<WorkflowAggregateCaches> caches) {
+
+        this.caches = caches;
+
+    }
+
+    @Override
+    public void bindTo(
+            final MeterRegistry registry) {
+
+        final var workflowAggregateCaches = caches.getIfAvailable();
+        if (workflowAggregateCaches == null) {
+            return;
+        }
+
+        workflowAggregateCaches
+                .getCaches()
+                .forEach((workflowAggregateClass, cache) -> CaffeineCacheMetrics.monitor(
+                        registry,
+                        cache,
+                        CACHE_NAME_PREFIX + workflowAggregateClass));
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package io.vanillabp.springboot.adapter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks used to serialize the execution of workflow tasks of the
+ * same workflow aggregate within this node. Conflicting updates of parallel
+ * branches or multi-instance tasks then wait in memory instead of failing
+ * on the database.
+ * <p>
+ * Different workflow aggregates may share one stripe. If a lock cannot be
+ * acquired within the wait timeout the task is executed without lock, which
+ * also resolves deadlocks caused by nested executions.
+ */
+public class WorkflowAggregateLocks {
+
+    private final ReentrantLock[] stripes;
+
+    private final long waitTimeoutNanos;
+
+    private final LongAdder acquired = new LongAdder();
+
+    private final LongAdder contended = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    public WorkflowAggregateLocks(
+            final int numberOfStripes,
+            final Duration waitTimeout) {
+
+        if (numberOfStripes <= 0) {
+            throw new IllegalArgumentException(
+                    "The number of lock stripes has to be greater than 0 but was "
+                    + numberOfStripes
+                    + "!");
+        }
+
+        this.stripes = new ReentrantLock[numberOfStripes];
+        for (int i = 0; i < numberOfStripes; ++i) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+
+    }
+
+    /**
+     * @param workflowAggregateClass The workflow aggregate's class
+     * @param workflowAggregateId The workflow aggregate's id
+     * @return The lock acquired which has to be unlocked afterwards or <i>null</i>
+     *         if the lock could not be acquired within the wait timeout
+     */
+    public Lock lock(
+            final Class<?> workflowAggregateClass,
+            final Object workflowAggregateId) {
+
+        final var lock = stripes[getStripe(workflowAggregateClass, workflowAggregateId)];
+        if (lock.tryLock()) {
+            acquired.increment();
+            return lock;
+        }
+
+        contended.increment();
+        final var started = System.nanoTime();
+        try {
+            if (lock.tryLock(waitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                acquired.increment();
+                return lock;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waitNanos.add(System.nanoTime() - started);
+        }
+
+        timeouts.increment();
+        return null;
+
+    }
+
+    private int getStripe(
+            final Class<?> workflowAggregateClass,
+            final Object workflowAggregateId) {
+
+        var hash = 31 * (workflowAggregateClass == null ? 0 : workflowAggregateClass.hashCode())
+                + workflowAggregateId.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, stripes.length);
+
+    }
+
+    public int getNumberOfStripes() {
+
+        return stripes.length;
+
+    }
+
+    /**
+     * @return Number of locks acquired
+     */
+    public long getAcquired() {
+
+        return acquired.sum();
+
+    }
+
+    /**
+     * @return Number of lock requests which had to wait
+     */
+    public long getContended() {
+
+        return contended.sum();
+
+    }
+
+    /**
+     * @return Number of lock requests not acquired within the wait timeout
+     */
+    public long getTimeouts() {
+
+        return timeouts.sum();
+
+    }
+
+    /**
+     * @return Total time spent waiting for locks
+     */
+    public Duration getWaitTime() {
+
+        return Duration.ofNanos(waitNanos.sum());
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package io.vanillabp.springboot.adapter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Exposes the contention of {@link WorkflowAggregateLocks} to size the number of stripes.
+ */
+public class WorkflowAggregateLocksMetrics implements MeterBinder {
+
+    private static final String PREFIX = "vanillabp.task.locks";
+
+    private final ObjectProvider<WorkflowAggregateLocks> locks;
+
+    public WorkflowAggregateLocksMetrics(
+            final ObjectProvider<WorkflowAggregateLocks> locks) {
+
+        this.locks = locks;
+
+    }
+
+    @Override
+    public void bindTo(
+            final MeterRegistry registry) {
+
+        final var workflowAggregateLocks = locks.getIfAvailable();
+        if (workflowAggregateLocks == null) {
+            return;
+        }
+
+        Gauge
+                .builder(PREFIX + ".stripes", workflowAggregateLocks, WorkflowAggregateLocks::getNumberOfStripes)
+                .description("Number of lock stripes")
+                .register(registry);
+        FunctionCounter
+                .builder(PREFIX + ".acquired", workflowAggregateLocks, WorkflowAggregateLocks::getAcquired)
+                .description("Number of locks acquired")
+                .register(registry);
+        FunctionCounter
+                .builder(PREFIX + ".contended", workflowAggregateLocks, WorkflowAggregateLocks::getContended)
+                .description("Number of lock requests which had to wait")
+                .register(registry);
+        FunctionCounter
+                .builder(PREFIX + ".timeouts", workflowAggregateLocks, WorkflowAggregateLocks::getTimeouts)
+                .description("Number of lock requests not acquired within the wait timeout")
+                .register(registry);
+        FunctionCounter
+                .builder(PREFIX + ".wait", workflowAggregateLocks,
+                        l -> (double) l.getWaitTime().toNanos() / TimeUnit.SECONDS.toNanos(1))
+                .baseUnit("seconds")
+                .description("Total time spent waiting for locks")
+                .register(registry);
+
+    }
+
+}
@@ -0,0 +1,148 @@
+package io.vanillabp.springboot.adapter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Coalesces saves of workflow aggregates within one transaction: saves of
+ * tasks executed back-to-back are deferred and each workflow aggregate is
+ * saved once right before the transaction commits. Outside of transactions
+ * saves are not deferred, so a task's changes are durable before the task
+ * is reported to be completed.
+ * <p>
+ * Kept separate from {@link TaskHandlerBase} since spring-tx is an optional
+ * dependency and this class is only loaded if write-behind is configured.
+ */
+public final class WriteBehindSaves {
+
+    private static final Object RESOURCE_KEY = new Object();
+
+    private static final class PendingSave {
+
+        private Object workflowAggregate;
+
+        private final UnaryOperator<Object> save;
+
+        private PendingSave(
+                final Object workflowAggregate,
+                final UnaryOperator<Object> save) {
+
+            this.workflowAggregate = workflowAggregate;
+            this.save = save;
+
+        }
+
+    }
+
+    private WriteBehindSaves() {
+        // static utility
+    }
+
+    /**
+     * @param workflowAggregateClass The workflow aggregate's class
+     * @param workflowAggregateId The workflow aggregate's id
+     * @param workflowAggregate The workflow aggregate to be saved
+     * @param save The operation saving the workflow aggregate
+     * @return Whether the save was deferred until the transaction commits
+     */
+    static boolean defer(
+            final Class<?> workflowAggregateClass,
+            final Object workflowAggregateId,
+            final Object workflowAggregate,
+            final UnaryOperator<Object> save) {
+
+        final var pendingSaves = getPendingSaves(true);
+        if (pendingSaves == null) {
+            return false;
+        }
+
+        final var pendingSave = pendingSaves.get(Map.entry(workflowAggregateClass, workflowAggregateId));
+        if (pendingSave != null) {
+            pendingSave.workflowAggregate = workflowAggregate;
+        } else {
+            pendingSaves.put(
+                    Map.entry(workflowAggregateClass, workflowAggregateId),
+                    new PendingSave(workflowAggregate, save));
+        }
+        return true;
+
+    }
+
+    /**
+     * @return The workflow aggregate whose save is pending in the current transaction
+     *         or <i>null</i>
+     */
+    static Object getPending(
+            final Class<?> workflowAggregateClass,
+            final Object workflowAggregateId) {
+
+        final var pendingSaves = getPendingSaves(false);
+        if (pendingSaves == null) {
+            return null;
+        }
+        final var pendingSave = pendingSaves.get(Map.entry(workflowAggregateClass, workflowAggregateId));
+        return pendingSave == null ? null : pendingSave.workflowAggregate;
+
+    }
+
+    /**
+     * Saves all workflow aggregates pending in the current transaction. Adapters
+     * reporting the completion of tasks within a transaction have to call this
+     * before reporting.
+     */
+    public static void flush() {
+
+        final var pendingSaves = getPendingSaves(false);
+        if (pendingSaves == null) {
+            return;
+        }
+        // entries are removed before saving and a fresh iterator is used per entry,
+        // so a re-entrant flush (e.g. by code triggered by the save) neither saves
+        // an entry twice nor runs into a ConcurrentModificationException
+        while (!pendingSaves.isEmpty()) {
+            final var iterator = pendingSaves.values().iterator();
+            final var pendingSave = iterator.next();
+            iterator.remove();
+            pendingSave.save.apply(pendingSave.workflowAggregate);
+        }
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Map.Entry<Class<?>, Object>, PendingSave> getPendingSaves(
+            final boolean create) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+
+        final var existing = (Map<Map.Entry<Class<?>, Object>, PendingSave>)
+                TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if ((existing != null)
+                || !create) {
+            return existing;
+        }
+
+        final var pendingSaves = new LinkedHashMap<Map.Entry<Class<?>, Object>, PendingSave>();
+        TransactionSynchronizationManager.bindResource(RESOURCE_KEY, pendingSaves);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(
+                    final boolean readOnly) {
+                flush();
+            }
+            @Override
+            public void afterCompletion(
+                    final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+            }
+        });
+        return pendingSaves;
+
+    }
+
+}
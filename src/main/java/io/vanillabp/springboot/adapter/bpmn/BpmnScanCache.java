@@ -0,0 +1,341 @@
+package io.vanillabp.springboot.adapter.bpmn;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+/**
+ * Stores the results of scanning BPMN resources in a local directory to skip
+ * parsing on restarts with unchanged resources. Files are named by the SHA-256
+ * of the scanner's version, the dialect's cache key and the resource's content
+ * and use a compact binary format which is memory-mapped on read.
+ * <p>
+ * Files are touched on use. On first use of the directory, files not used
+ * for {@link #UNUSED_RETENTION} (e.g. of outdated resources) are removed.
+ */
+class BpmnScanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BpmnScanCache.class);
+
+    private static final int MAGIC = 0x56425343; // "VBSC"
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte END = 0;
+
+    private static final byte CONNECTABLE = 1;
+
+    private static final byte PROCESS = 2;
+
+    static final Duration UNUSED_RETENTION = Duration.ofDays(30);
+
+    private final Path directory;
+
+    private final AtomicBoolean pruned = new AtomicBoolean(false);
+
+    BpmnScanCache(
+            final String directory) {
+
+        this.directory = Path.of(directory);
+
+    }
+
+    void scan(
+            final BpmnScanner scanner,
+            final String dialect,
+            final Resource resource,
+            final BpmnScanner.Listener listener) throws IOException {
+
+        if (pruned.compareAndSet(false, true)) {
+            prune();
+        }
+
+        final byte[] content;
+        try (final var inputStream = resource.getInputStream()) {
+            content = inputStream.readAllBytes();
+        }
+
+        final var file = directory.resolve(hash(dialect, content) + ".scan");
+        final var cached = read(file);
+        if (cached != null) {
+            touch(file);
+            replay(cached, listener);
+            return;
+        }
+
+        // scan results are collected to not write cache files of invalid resources
+        final var scanned = new LinkedList<Object>();
+        scanner.scan(new ByteArrayInputStream(content), new BpmnScanner.Listener() {
+            @Override
+            public void onConnectable(
+                    final ScannedConnectable connectable) {
+                scanned.add(connectable);
+            }
+            @Override
+            public void onProcess(
+                    final ScannedProcess process) {
+                scanned.add(process);
+            }
+        });
+
+        try {
+            write(file, scanned);
+        } catch (IOException e) {
+            logger.warn("Could not write BPMN scan cache file '{}'", file, e);
+        }
+
+        replay(scanned, listener);
+
+    }
+
+    /**
+     * Removes cache files and left-over temporary files not used for
+     * {@link #UNUSED_RETENTION}.
+     */
+    private void prune() {
+
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        final var threshold = FileTime.from(Instant.now().minus(UNUSED_RETENTION));
+        try (final var files = Files.list(directory)) {
+            files
+                    .filter(file -> file.getFileName().toString().endsWith(".scan")
+                            || file.getFileName().toString().endsWith(".tmp"))
+                    .forEach(file -> {
+                        try {
+                            if (Files.getLastModifiedTime(file).compareTo(threshold) < 0) {
+                                Files.deleteIfExists(file);
+                            }
+                        } catch (IOException e) {
+                            logger.debug("Could not prune BPMN scan cache file '{}'", file, e);
+                        }
+                    });
+        } catch (IOException e) {
+            logger.warn("Could not prune BPMN scan cache directory '{}'", directory, e);
+        }
+
+    }
+
+    private static void touch(
+            final Path file) {
+
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            logger.debug("Could not touch BPMN scan cache file '{}'", file, e);
+        }
+
+    }
+
+    private static void replay(
+            final List<Object> scanned,
+            final BpmnScanner.Listener listener) {
+
+        scanned.forEach(item -> {
+            if (item instanceof ScannedConnectable connectable) {
+                listener.onConnectable(connectable);
+            } else {
+                listener.onProcess((ScannedProcess) item);
+            }
+        });
+
+    }
+
+    private void write(
+            final Path file,
+            final List<Object> scanned) throws IOException {
+
+        final var out = new ByteArrayOutputStream();
+        final var data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        for (final var item : scanned) {
+            if (item instanceof ScannedConnectable connectable) {
+                write(data, connectable);
+            } else {
+                write(data, (ScannedProcess) item);
+            }
+        }
+        data.writeByte(END);
+        data.flush();
+
+        Files.createDirectories(directory);
+        final var tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        Files.write(tmp, out.toByteArray());
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    }
+
+    /**
+     * @return The cached scan results or <i>null</i> if there is no valid cache file
+     */
+    private static List<Object> read(
+            final Path file) {
+
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if ((buffer.getInt() != MAGIC)
+                    || (buffer.getInt() != FORMAT_VERSION)) {
+                return null;
+            }
+
+            final var result = new LinkedList<Object>();
+            for (var type = buffer.get(); type != END; type = buffer.get()) {
+                if (type == CONNECTABLE) {
+                    result.add(new ScannedConnectable(
+                            readString(buffer),
+                            readString(buffer),
+                            buffer.get() != 0,
+                            readString(buffer),
+                            readString(buffer),
+                            readString(buffer)));
+                } else if (type == PROCESS) {
+                    result.add(new ScannedProcess(
+                            readString(buffer),
+                            readString(buffer),
+                            buffer.get() != 0,
+                            readStrings(buffer),
+                            readStrings(buffer)));
+                } else {
+                    return null;
+                }
+            }
+            return result;
+
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            logger.warn("Ignoring invalid BPMN scan cache file '{}'", file, e);
+            return null;
+        }
+
+    }
+
+    private static String readString(
+            final ByteBuffer buffer) {
+
+        final var length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        // lengths of corrupt files must not cause huge allocations
+        if ((length < 0)
+                || (length > buffer.remaining())) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+
+    }
+
+    private static List<String> readStrings(
+            final ByteBuffer buffer) {
+
+        final var size = buffer.getInt();
+        // each string takes at least its length
+        if ((size < 0)
+                || (size > buffer.remaining() / Integer.BYTES)) {
+            throw new IllegalArgumentException("Invalid number of strings " + size);
+        }
+        final var result = new ArrayList<String>(size);
+        for (int i = 0; i < size; ++i) {
+            result.add(readString(buffer));
+        }
+        return result;
+
+    }
+
+    private static void write(
+            final DataOutputStream data,
+            final ScannedConnectable connectable) throws IOException {
+
+        data.writeByte(CONNECTABLE);
+        writeString(data, connectable.getBpmnProcessId());
+        writeString(data, connectable.getVersionInfo());
+        data.writeBoolean(connectable.isExecutableProcess());
+        writeString(data, connectable.getElementId());
+        writeString(data, connectable.getElementType());
+        writeString(data, connectable.getTaskDefinition());
+
+    }
+
+    private static void write(
+            final DataOutputStream data,
+            final ScannedProcess process) throws IOException {
+
+        data.writeByte(PROCESS);
+        writeString(data, process.getBpmnProcessId());
+        writeString(data, process.getVersionInfo());
+        data.writeBoolean(process.isExecutable());
+        data.writeInt(process.getMessageBasedStartEventsMessageNames().size());
+        for (final var name : process.getMessageBasedStartEventsMessageNames()) {
+            writeString(data, name);
+        }
+        data.writeInt(process.getSignalBasedStartEventsSignalNames().size());
+        for (final var name : process.getSignalBasedStartEventsSignalNames()) {
+            writeString(data, name);
+        }
+
+    }
+
+    private static void writeString(
+            final DataOutputStream data,
+            final String value) throws IOException {
+
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+
+    }
+
+    private static String hash(
+            final String dialect,
+            final byte[] content) {
+
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Integer.toString(BpmnScanner.SCANNER_VERSION).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(dialect.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(content);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+}
@@ -0,0 +1,310 @@
+package io.vanillabp.springboot.adapter.bpmn;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.springframework.core.io.Resource;
+
+/**
+ * Streams BPMN files and reports processes and tasks to be wired without
+ * building a model of the entire file. Engine specific attributes like
+ * task definitions are determined by the adapter's {@link BpmnScannerDialect}.
+ * <p>
+ * Connectables are reported as soon as their element is closed. Processes
+ * are reported at the end of the file, since messages and signals referred
+ * to by start events may be declared after the process.
+ */
+public class BpmnScanner {
+
+    public static final String BPMN_NAMESPACE = "http://www.omg.org/spec/BPMN/20100524/MODEL";
+
+    // has to be increased on every change of results reported for the same BPMN file
+    static final int SCANNER_VERSION = 1;
+
+    private static final Set<String> TASKS = Set.of(
+            "task",
+            "serviceTask",
+            "sendTask",
+            "receiveTask",
+            "userTask",
+            "manualTask",
+            "businessRuleTask",
+            "scriptTask");
+
+    // events are only reported if the dialect finds a task definition
+    private static final Set<String> EVENTS = Set.of(
+            "intermediateThrowEvent",
+            "endEvent");
+
+    private static final XMLInputFactory xmlInputFactory = buildXmlInputFactory();
+
+    private final BpmnScannerDialect dialect;
+
+    private final BpmnScanCache cache;
+
+    public interface Listener {
+
+        void onConnectable(
+                ScannedConnectable connectable);
+
+        default void onProcess(
+                ScannedProcess process) { }
+
+    }
+
+    public BpmnScanner(
+            final BpmnScannerDialect dialect) {
+
+        this(dialect, null);
+
+    }
+
+    /**
+     * @param cacheLocation Directory of scan results to skip parsing unchanged
+     *                      resources on restart or <i>null</i> to always parse.
+     *                      Results are only cached for dialects providing a
+     *                      {@link BpmnScannerDialect#getCacheKey() cache key}.
+     * @see io.vanillabp.springboot.adapter.VanillaBpProperties#getBpmnScanCacheLocation()
+     */
+    public BpmnScanner(
+            final BpmnScannerDialect dialect,
+            final String cacheLocation) {
+
+        this.dialect = dialect;
+        this.cache = (cacheLocation == null) || (dialect.getCacheKey() == null)
+                ? null
+                : new BpmnScanCache(cacheLocation);
+
+    }
+
+    private static XMLInputFactory buildXmlInputFactory() {
+
+        final var result = XMLInputFactory.newFactory();
+        result.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        result.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        result.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return result;
+
+    }
+
+    public void scan(
+            final Resource resource,
+            final Listener listener) throws IOException {
+
+        try {
+            if (cache != null) {
+                cache.scan(this, dialect.getCacheKey(), resource, listener);
+                return;
+            }
+            try (final var inputStream = resource.getInputStream()) {
+                scan(inputStream, listener);
+            }
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Could not scan BPMN resource '" + resource.getDescription() + "'", e);
+        }
+
+    }
+
+    public void scan(
+            final InputStream inputStream,
+            final Listener listener) {
+
+        XMLStreamReader reader = null;
+        try {
+
+            reader = xmlInputFactory.createXMLStreamReader(inputStream);
+            scan(reader, listener);
+
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Could not parse BPMN", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+        }
+
+    }
+
+    private void scan(
+            final XMLStreamReader reader,
+            final Listener listener) throws XMLStreamException {
+
+        final var messageNames = new HashMap<String, String>();
+        final var signalNames = new HashMap<String, String>();
+        final var processes = new LinkedList<ProcessState>();
+
+        ProcessState process = null;
+        TaskState task = null;
+        int startEventDepth = -1;
+        int depth = 0;
+
+        while (reader.hasNext()) {
+
+            final var event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+
+                ++depth;
+                final var isBpmn = BPMN_NAMESPACE.equals(reader.getNamespaceURI());
+                final var name = reader.getLocalName();
+
+                if (process == null) {
+                    if (!isBpmn) {
+                        continue;
+                    }
+                    if ("process".equals(name)) {
+                        process = new ProcessState(
+                                reader.getAttributeValue(null, "id"),
+                                Boolean.parseBoolean(reader.getAttributeValue(null, "isExecutable")),
+                                depth);
+                        process.versionInfo = dialect.getVersionInfo(reader);
+                    } else if ("message".equals(name)) {
+                        messageNames.put(
+                                reader.getAttributeValue(null, "id"),
+                                reader.getAttributeValue(null, "name"));
+                    } else if ("signal".equals(name)) {
+                        signalNames.put(
+                                reader.getAttributeValue(null, "id"),
+                                reader.getAttributeValue(null, "name"));
+                    }
+                } else if (task != null) {
+                    if (task.taskDefinition == null) {
+                        task.taskDefinition = dialect.getTaskDefinition(reader);
+                    }
+                } else if (isBpmn
+                        && (TASKS.contains(name) || EVENTS.contains(name))) {
+                    task = new TaskState(
+                            reader.getAttributeValue(null, "id"),
+                            name,
+                            depth);
+                    task.taskDefinition = dialect.getTaskDefinition(reader);
+                } else if (isBpmn
+                        && "startEvent".equals(name)
+                        && (depth == process.depth + 1)) { // ignore start events of sub-processes
+                    startEventDepth = depth;
+                } else if (isBpmn
+                        && (startEventDepth != -1)
+                        && "messageEventDefinition".equals(name)) {
+                    process.messageRefs.add(reader.getAttributeValue(null, "messageRef"));
+                } else if (isBpmn
+                        && (startEventDepth != -1)
+                        && "signalEventDefinition".equals(name)) {
+                    process.signalRefs.add(reader.getAttributeValue(null, "signalRef"));
+                } else if (process.versionInfo == null) {
+                    process.versionInfo = dialect.getVersionInfo(reader);
+                }
+
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+
+                if ((task != null)
+                        && (depth == task.depth)) {
+                    if (TASKS.contains(task.elementType)
+                            || (task.taskDefinition != null)) {
+                        listener.onConnectable(new ScannedConnectable(
+                                process.bpmnProcessId,
+                                process.versionInfo,
+                                process.executable,
+                                task.elementId,
+                                task.elementType,
+                                task.taskDefinition));
+                    }
+                    task = null;
+                } else if (depth == startEventDepth) {
+                    startEventDepth = -1;
+                } else if ((process != null)
+                        && (depth == process.depth)) {
+                    processes.add(process);
+                    process = null;
+                }
+                --depth;
+
+            }
+
+        }
+
+        processes.forEach(scannedProcess -> listener.onProcess(new ScannedProcess(
+                scannedProcess.bpmnProcessId,
+                scannedProcess.versionInfo,
+                scannedProcess.executable,
+                resolveNames(scannedProcess.messageRefs, messageNames),
+                resolveNames(scannedProcess.signalRefs, signalNames))));
+
+    }
+
+    private static List<String> resolveNames(
+            final List<String> refs,
+            final Map<String, String> names) {
+
+        return refs
+                .stream()
+                .filter(Objects::nonNull)
+                .map(ref -> ref.contains(":") ? ref.substring(ref.indexOf(':') + 1) : ref)
+                .map(ref -> Objects.requireNonNullElse(names.get(ref), ref))
+                .toList();
+
+    }
+
+    private static class ProcessState {
+
+        final String bpmnProcessId;
+
+        final boolean executable;
+
+        final int depth;
+
+        final List<String> messageRefs = new LinkedList<>();
+
+        final List<String> signalRefs = new LinkedList<>();
+
+        String versionInfo;
+
+        ProcessState(
+                final String bpmnProcessId,
+                final boolean executable,
+                final int depth) {
+
+            this.bpmnProcessId = bpmnProcessId;
+            this.executable = executable;
+            this.depth = depth;
+
+        }
+
+    }
+
+    private static class TaskState {
+
+        final String elementId;
+
+        final String elementType;
+
+        final int depth;
+
+        String taskDefinition;
+
+        TaskState(
+                final String elementId,
+                final String elementType,
+                final int depth) {
+
+            this.elementId = elementId;
+            this.elementType = elementType;
+            this.depth = depth;
+
+        }
+
+    }
+
+}
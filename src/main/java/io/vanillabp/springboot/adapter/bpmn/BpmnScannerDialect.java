@@ -0,0 +1,51 @@
+package io.vanillabp.springboot.adapter.bpmn;
+
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Engine specific parts of scanning BPMN files. Implementations must not move
+ * the given reader but may only read the current element's name and attributes.
+ *
+ * @see BpmnScanner
+ */
+public interface BpmnScannerDialect {
+
+    /**
+     * Identifies the dialect and the version of its logic in scan results
+     * cached across restarts (see {@link BpmnScanner#BpmnScanner(BpmnScannerDialect, String)}).
+     * The key has to change whenever the dialect reports different values
+     * for the same BPMN file, e.g. "camunda8-dialect:2".
+     *
+     * @return The key or <i>null</i> to never cache scan results of this dialect
+     */
+    default String getCacheKey() {
+
+        return null;
+
+    }
+
+    /**
+     * Called for the process element and each element nested in the process
+     * but outside of tasks until a non-null value is returned.
+     *
+     * @param element The reader positioned at the current start-element
+     * @return The process' version info or <i>null</i> if not found in this element
+     */
+    default String getVersionInfo(
+            final XMLStreamReader element) {
+
+        return null;
+
+    }
+
+    /**
+     * Called for a task's element and each element nested in the task
+     * until a non-null value is returned.
+     *
+     * @param element The reader positioned at the current start-element
+     * @return The task's definition or <i>null</i> if not found in this element
+     */
+    String getTaskDefinition(
+            XMLStreamReader element);
+
+}
@@ -0,0 +1,83 @@
+package io.vanillabp.springboot.adapter.bpmn;
+
+import io.vanillabp.springboot.adapter.Connectable;
+
+/**
+ * A task found by {@link BpmnScanner} which may be wired to a method.
+ */
+public class ScannedConnectable implements Connectable {
+
+    private final String bpmnProcessId;
+
+    private final String versionInfo;
+
+    private final boolean executableProcess;
+
+    private final String elementId;
+
+    private final String elementType;
+
+    private final String taskDefinition;
+
+    public ScannedConnectable(
+            final String bpmnProcessId,
+            final String versionInfo,
+            final boolean executableProcess,
+            final String elementId,
+            final String elementType,
+            final String taskDefinition) {
+
+        this.bpmnProcessId = bpmnProcessId;
+        this.versionInfo = versionInfo;
+        this.executableProcess = executableProcess;
+        this.elementId = elementId;
+        this.elementType = elementType;
+        this.taskDefinition = taskDefinition;
+
+    }
+
+    @Override
+    public String getBpmnProcessId() {
+
+        return bpmnProcessId;
+
+    }
+
+    @Override
+    public String getVersionInfo() {
+
+        return versionInfo;
+
+    }
+
+    @Override
+    public boolean isExecutableProcess() {
+
+        return executableProcess;
+
+    }
+
+    @Override
+    public String getElementId() {
+
+        return elementId;
+
+    }
+
+    /**
+     * @return The BPMN element's local name (e.g. 'serviceTask' or 'userTask')
+     */
+    public String getElementType() {
+
+        return elementType;
+
+    }
+
+    @Override
+    public String getTaskDefinition() {
+
+        return taskDefinition;
+
+    }
+
+}
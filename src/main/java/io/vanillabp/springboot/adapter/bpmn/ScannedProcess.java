@@ -0,0 +1,68 @@
+package io.vanillabp.springboot.adapter.bpmn;
+
+import java.util.Collection;
+
+/**
+ * A process found by {@link BpmnScanner} providing all information needed
+ * to wire the process service.
+ *
+ * @see io.vanillabp.springboot.adapter.TaskWiringBase#wireService(String, String, Collection, Collection)
+ */
+public class ScannedProcess {
+
+    private final String bpmnProcessId;
+
+    private final String versionInfo;
+
+    private final boolean executable;
+
+    private final Collection<String> messageBasedStartEventsMessageNames;
+
+    private final Collection<String> signalBasedStartEventsSignalNames;
+
+    public ScannedProcess(
+            final String bpmnProcessId,
+            final String versionInfo,
+            final boolean executable,
+            final Collection<String> messageBasedStartEventsMessageNames,
+            final Collection<String> signalBasedStartEventsSignalNames) {
+
+        this.bpmnProcessId = bpmnProcessId;
+        this.versionInfo = versionInfo;
+        this.executable = executable;
+        this.messageBasedStartEventsMessageNames = messageBasedStartEventsMessageNames;
+        this.signalBasedStartEventsSignalNames = signalBasedStartEventsSignalNames;
+
+    }
+
+    public String getBpmnProcessId() {
+
+        return bpmnProcessId;
+
+    }
+
+    public String getVersionInfo() {
+
+        return versionInfo;
+
+    }
+
+    public boolean isExecutable() {
+
+        return executable;
+
+    }
+
+    public Collection<String> getMessageBasedStartEventsMessageNames() {
+
+        return messageBasedStartEventsMessageNames;
+
+    }
+
+    public Collection<String> getSignalBasedStartEventsSignalNames() {
+
+        return signalBasedStartEventsSignalNames;
+
+    }
+
+}
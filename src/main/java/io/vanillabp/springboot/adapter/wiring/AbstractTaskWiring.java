@@ -11,6 +11,7 @@ import io.vanillabp.springboot.adapter.Connectable;
 import io.vanillabp.springboot.adapter.SpringBeanUtil;
 import io.vanillabp.springboot.parameters.MethodParameter;
 import io.vanillabp.springboot.parameters.MethodParameterFactory;
+import io.vanillabp.springboot.parameters.TaskParameterConverters;
 import io.vanillabp.springboot.utils.MutableStream;
 import io.vanillabp.springboot.utils.TriFunction;
 import java.lang.annotation.Annotation;
@@ -296,7 +297,11 @@ public abstract class AbstractTaskWiring<T extends Connectable, A extends Annota
                 .getTaskParameter(
                         index,
                         parameter.getName(),
-                        taskParamAnnotation.value());
+                        taskParamAnnotation.value(),
+                        parameter.getParameterizedType(),
+                        TaskParameterConverters.forType(
+                                parameter.getParameterizedType(),
+                                applicationContext));
         
     }
 
@@ -0,0 +1,133 @@
+package io.vanillabp.springboot.adapter.wiring;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.AbstractLazyCreationTargetSource;
+
+/**
+ * A workflow aggregate passed to a workflow task's method as a generated subclass
+ * proxy. The workflow aggregate is loaded on first access of any of its methods.
+ * <p>
+ * The proxy must not be saved or serialized since it is not the entity itself.
+ * Use {@link #getWorkflowAggregate()} instead.
+ */
+public class LazyWorkflowAggregate {
+
+    private final AbstractLazyCreationTargetSource targetSource;
+
+    private final Object proxy;
+
+    public LazyWorkflowAggregate(
+            final Class<?> workflowAggregateClass,
+            final Object workflowAggregateId,
+            final Supplier<Object> loader) {
+
+        this.targetSource = new AbstractLazyCreationTargetSource() {
+
+            @Override
+            public Class<?> getTargetClass() {
+                return workflowAggregateClass;
+            }
+
+            @Override
+            protected Object createObject() {
+                final var workflowAggregate = loader.get();
+                if (workflowAggregate == null) {
+                    throw new IllegalStateException(
+                            "No workflow aggregate of type '"
+                            + workflowAggregateClass.getName()
+                            + "' found for id '"
+                            + workflowAggregateId
+                            + "'!");
+                }
+                return workflowAggregate;
+            }
+
+        };
+
+        final var proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(targetSource);
+        proxyFactory.setProxyTargetClass(true);
+        this.proxy = proxyFactory.getProxy(workflowAggregateClass.getClassLoader());
+
+    }
+
+    /**
+     * Subclass proxies cannot be generated for final classes. Final methods
+     * cannot be intercepted and would act on the proxy's empty state.
+     *
+     * @param workflowAggregateClass The workflow aggregate's class
+     * @return Whether lazy loading is supported
+     */
+    public static boolean isSupported(
+            final Class<?> workflowAggregateClass) {
+
+        return (workflowAggregateClass != null)
+                && !Modifier.isFinal(workflowAggregateClass.getModifiers())
+                && !workflowAggregateClass.isInterface()
+                && getFinalPublicMethods(workflowAggregateClass).isEmpty();
+
+    }
+
+    /**
+     * @return The public final methods of the class (except those of {@link Object})
+     */
+    public static List<Method> getFinalPublicMethods(
+            final Class<?> workflowAggregateClass) {
+
+        return Arrays
+                .stream(workflowAggregateClass.getMethods())
+                .filter(method -> method.getDeclaringClass() != Object.class)
+                .filter(method -> Modifier.isFinal(method.getModifiers()))
+                .toList();
+
+    }
+
+    public Object getProxy() {
+
+        return proxy;
+
+    }
+
+    public boolean isLoaded() {
+
+        return targetSource.isInitialized();
+
+    }
+
+    /**
+     * @return The workflow aggregate which is loaded if the proxy was not accessed yet
+     */
+    public Object load() {
+
+        try {
+            return targetSource.getTarget();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+    }
+
+    /**
+     * @return The workflow aggregate loaded or <i>null</i> if the proxy was not accessed.
+     */
+    public Object getWorkflowAggregate() {
+
+        if (!targetSource.isInitialized()) {
+            return null;
+        }
+        try {
+            return targetSource.getTarget();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+    }
+
+}
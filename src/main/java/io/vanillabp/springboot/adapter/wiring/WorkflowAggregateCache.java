@@ -1,7 +1,40 @@
 package io.vanillabp.springboot.adapter.wiring;
 
+import java.util.function.Supplier;
+
 public class WorkflowAggregateCache {
 
+    /**
+     * The workflow aggregate of the invocation. If it was passed lazily and the
+     * method did not access it, this is <i>null</i> after the invocation. Use
+     * {@link #getWorkflowAggregate()} to get it in any case (e.g. to serialize it).
+     */
     public Object workflowAggregate;
-    
+
+    private Supplier<Object> loader;
+
+    /**
+     * @param loader Loads the workflow aggregate if it was not loaded during the invocation
+     */
+    public void setLoader(
+            final Supplier<Object> loader) {
+
+        this.loader = loader;
+
+    }
+
+    /**
+     * @return The workflow aggregate which is loaded if this was not done yet
+     */
+    public Object getWorkflowAggregate() {
+
+        if ((workflowAggregate == null)
+                && (loader != null)) {
+            workflowAggregate = loader.get();
+            loader = null;
+        }
+        return workflowAggregate;
+
+    }
+
 }
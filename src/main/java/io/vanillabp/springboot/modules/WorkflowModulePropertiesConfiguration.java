@@ -3,6 +3,7 @@ package io.vanillabp.springboot.modules;
 import io.vanillabp.springboot.utils.CaseUtils;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Properties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
@@ -12,7 +13,6 @@ import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoCon
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.env.Environment;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 
 @AutoConfigurationPackage
@@ -29,23 +29,24 @@ public class WorkflowModulePropertiesConfiguration {
             final Environment environment,
             final List<WorkflowModuleProperties> modules) {
 
+        final var index = new YamlIndex();
         final var resources = new LinkedList<Resource>();
         for (final var module : modules) {
             
             // add e.g. taxiRide.yml or taxiRide.yaml
-            if (!addYaml(resources, module.getWorkflowModuleId(), module.getWorkflowModuleId())) {
+            if (!addYaml(index, resources, module.getWorkflowModuleId(), module.getWorkflowModuleId())) {
                 // or taxi-ride.yml or taxi-ride.yaml
-                addYaml(resources, module.getWorkflowModuleId(),
+                addYaml(index, resources, module.getWorkflowModuleId(),
                         CaseUtils.camelToKebap(module.getWorkflowModuleId()));
             }
 
             for (final var profile : environment.getActiveProfiles()) {
 
                 // add e.g. taxiRide-local.yml or taxiRide-local.yaml
-                if (!addYaml(resources, module.getWorkflowModuleId(),
+                if (!addYaml(index, resources, module.getWorkflowModuleId(),
                         module.getWorkflowModuleId() + "-" + profile)) {
                     // or taxi-ride-local.yml or taxi-ride-local.yaml
-                    addYaml(resources, module.getWorkflowModuleId(),
+                    addYaml(index, resources, module.getWorkflowModuleId(),
                             CaseUtils.camelToKebap(module.getWorkflowModuleId()) + "-" + profile);
                 }
 
@@ -53,56 +54,64 @@ public class WorkflowModulePropertiesConfiguration {
 
         }
 
-        final var yaml = new YamlPropertiesFactoryBean();
-        yaml.setResources(resources.toArray(Resource[]::new));
-        yaml.afterPropertiesSet();
+        // files are parsed in parallel but merged in order, so later files override earlier ones
+        final var properties = new Properties();
+        resources
+                .parallelStream()
+                .map(WorkflowModulePropertiesConfiguration::loadYaml)
+                .toList()
+                .forEach(properties::putAll);
 
         final var ppc = new PropertySourcesPlaceholderConfigurer();
-        ppc.setProperties(yaml.getObject());
+        ppc.setProperties(properties);
         ppc.setEnvironment(environment);
         return ppc;
 
     }
 
-    private static boolean addYaml(
+    private static Properties loadYaml(
+            final Resource resource) {
+
+        final var yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(resource);
+        yaml.afterPropertiesSet();
+        return yaml.getObject();
+
+    }
+
+    private static boolean addYamlOfDirectory(
+            final YamlIndex index,
             final LinkedList<Resource> resources,
-            final String pathAndFilename) {
+            final String directory,
+            final String filename) {
 
-        final var defaultsYaml = new ClassPathResource(
-                pathAndFilename + ".yaml");
-        if (defaultsYaml.exists()) {
-            logger.debug("Adding yaml-file: {}", defaultsYaml.getDescription());
-            resources.add(defaultsYaml);
-            return true;
-        }
-        
-        final var defaultsYml = new ClassPathResource(
-                pathAndFilename + ".yml");
-        if (defaultsYml.exists()) {
-            logger.debug("Adding yaml-file: {}", defaultsYml.getDescription());
-            resources.add(defaultsYml);
-            return true;
+        final var yaml = index.find(directory, filename);
+        if (yaml == null) {
+            return false;
         }
-        
-        return false;
-        
+
+        logger.debug("Adding yaml-file: {}", yaml.getDescription());
+        resources.add(yaml);
+        return true;
+
     }
 
     private static boolean addYaml(
+            final YamlIndex index,
             final LinkedList<Resource> resources,
             final String directory,
             final String formattedWorkflowModuleIdWithProfile) {
 
-        if (addYaml(resources, formattedWorkflowModuleIdWithProfile)) {
+        if (addYamlOfDirectory(index, resources, "", formattedWorkflowModuleIdWithProfile)) {
             return true;
         }
-        if (addYaml(resources, "config/" + formattedWorkflowModuleIdWithProfile)) {
+        if (addYamlOfDirectory(index, resources, "config/", formattedWorkflowModuleIdWithProfile)) {
             return true;
         }
-        if (addYaml(resources, directory + "/" + formattedWorkflowModuleIdWithProfile)) {
+        if (addYamlOfDirectory(index, resources, directory + "/", formattedWorkflowModuleIdWithProfile)) {
             return true;
         }
-        if (addYaml(resources, directory + "/config/" + formattedWorkflowModuleIdWithProfile)) {
+        if (addYamlOfDirectory(index, resources, directory + "/config/", formattedWorkflowModuleIdWithProfile)) {
             return true;
         }
         return false;
@@ -0,0 +1,328 @@
+package io.vanillabp.springboot.modules;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Finds YAML files in the classpath without probing each candidate by the
+ * class loader. Jars are indexed once by their entries, which does not require
+ * directory entries, and directories are listed once per directory requested.
+ * Like {@link ClassPathResource} the first file found in the classpath wins.
+ * <p>
+ * Classpath roots which cannot be indexed (e.g. jars nested in a Spring Boot
+ * fat jar or roots of unknown class loaders) make the index incomplete from
+ * their position on: files not found in the roots before are probed.
+ */
+class YamlIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(YamlIndex.class);
+
+    private interface Root {
+
+        /**
+         * @param path The file's path relative to the root
+         * @return The file or <i>null</i> if the root does not contain it
+         */
+        Resource find(
+                String path);
+
+    }
+
+    // marks a root which cannot be indexed
+    private static final Root INCOMPLETE = path -> {
+        throw new UnsupportedOperationException();
+    };
+
+    private final ClassLoader classLoader;
+
+    private List<Root> roots;
+
+    YamlIndex() {
+
+        this(ClassUtils.getDefaultClassLoader());
+
+    }
+
+    YamlIndex(
+            final ClassLoader classLoader) {
+
+        this.classLoader = classLoader;
+
+    }
+
+    /**
+     * @param directory The directory ("" or ending with "/")
+     * @param filename The filename without extension
+     * @return The file "filename.yaml" or, if not found, "filename.yml" or <i>null</i>
+     */
+    Resource find(
+            final String directory,
+            final String filename) {
+
+        final var yaml = find(directory + filename + ".yaml");
+        if (yaml != null) {
+            return yaml;
+        }
+        return find(directory + filename + ".yml");
+
+    }
+
+    private Resource find(
+            final String path) {
+
+        if (roots == null) {
+            roots = buildRoots();
+        }
+
+        for (final var root : roots) {
+            if (root == INCOMPLETE) {
+                // the file might be part of this root, so the class loader has to decide
+                final var resource = new ClassPathResource(path, classLoader);
+                return resource.exists() ? resource : null;
+            }
+            final var resource = root.find(path);
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return null;
+
+    }
+
+    /**
+     * @return The roots in the order used by the class loader (parents first)
+     */
+    private List<Root> buildRoots() {
+
+        final var loaders = new LinkedList<ClassLoader>();
+        for (var loader = classLoader; loader != null; loader = loader.getParent()) {
+            loaders.addFirst(loader);
+        }
+
+        final var result = new ArrayList<Root>();
+        final var visited = new HashSet<String>();
+        for (final var loader : loaders) {
+            if (loader instanceof URLClassLoader urlClassLoader) {
+                for (final var url : urlClassLoader.getURLs()) {
+                    addRoot(result, visited, url);
+                }
+            } else if (loader == ClassLoader.getSystemClassLoader()) {
+                for (final var entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                    if (!entry.isBlank()) {
+                        addRoot(result, visited, toUrl(Path.of(entry)));
+                    }
+                }
+            } else if (loader != ClassLoader.getPlatformClassLoader()) {
+                logger.debug("Cannot index class loader '{}', will probe yaml-files not found before", loader);
+                result.add(INCOMPLETE);
+            }
+        }
+        return result;
+
+    }
+
+    private static void addRoot(
+            final List<Root> roots,
+            final Set<String> visited,
+            final URL url) {
+
+        if ((url == null)
+                || !visited.add(url.toString())) {
+            return;
+        }
+
+        try {
+            if ("file".equals(url.getProtocol())) {
+                final var path = Path.of(url.toURI());
+                if (Files.isDirectory(path)) {
+                    roots.add(new DirectoryRoot(path));
+                } else if (Files.isRegularFile(path)) {
+                    addJarRoot(roots, visited, path, "");
+                }
+                return;
+            }
+            if ("jar".equals(url.getProtocol())) {
+                // e.g. "jar:file:/app.jar!/BOOT-INF/classes!/" of Spring Boot fat jars
+                final var spec = url.toString().substring("jar:".length());
+                final var separator = spec.indexOf("!/");
+                final var prefix = spec.substring(separator + 2).replaceFirst("!/$", "");
+                final var jar = new URL(spec.substring(0, separator));
+                if ("file".equals(jar.getProtocol())
+                        && !prefix.contains("!/")
+                        && !prefix.endsWith(".jar")) {
+                    addJarRoot(
+                            roots,
+                            visited,
+                            Path.of(jar.toURI()),
+                            prefix.isEmpty() || prefix.endsWith("/") ? prefix : prefix + "/");
+                    return;
+                }
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            logger.debug("Cannot index classpath root '{}', will probe yaml-files not found before", url, e);
+        }
+
+        roots.add(INCOMPLETE);
+
+    }
+
+    private static void addJarRoot(
+            final List<Root> roots,
+            final Set<String> visited,
+            final Path jar,
+            final String prefix) throws IOException {
+
+        final var files = new HashSet<String>();
+        final String classPath;
+        try (final var jarFile = new JarFile(jar.toFile())) {
+
+            jarFile
+                    .stream()
+                    .filter(entry -> !entry.isDirectory())
+                    .map(entry -> entry.getName())
+                    .filter(name -> name.startsWith(prefix)
+                            && (name.endsWith(".yaml") || name.endsWith(".yml")))
+                    .forEach(name -> files.add(name.substring(prefix.length())));
+
+            final var manifest = prefix.isEmpty() ? jarFile.getManifest() : null;
+            classPath = manifest == null
+                    ? null
+                    : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+
+        }
+        roots.add(new JarRoot(toUrl(jar), prefix, files));
+
+        // jars referred to by the manifest (e.g. of surefire) are searched next
+        if (classPath != null) {
+            for (final var entry : classPath.trim().split("\\s+")) {
+                if (!entry.isEmpty()) {
+                    addRoot(roots, visited, new URL(toUrl(jar), entry));
+                }
+            }
+        }
+
+    }
+
+    private static URL toUrl(
+            final Path path) {
+
+        try {
+            return path.toUri().toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+
+    }
+
+    private static class DirectoryRoot implements Root {
+
+        private final Path directory;
+
+        // key: directory relative to root, value: files or null if listing failed
+        private final Map<String, Set<String>> listings = new HashMap<>();
+
+        DirectoryRoot(
+                final Path directory) {
+
+            this.directory = directory;
+
+        }
+
+        @Override
+        public Resource find(
+                final String path) {
+
+            final var separator = path.lastIndexOf('/');
+            final var files = listings.computeIfAbsent(path.substring(0, separator + 1), this::list);
+            final var file = directory.resolve(path);
+            if (files == null
+                    ? !Files.isRegularFile(file)
+                    : !files.contains(path.substring(separator + 1))) {
+                return null;
+            }
+            return new FileSystemResource(file);
+
+        }
+
+        private Set<String> list(
+                final String subDirectory) {
+
+            final var result = new HashSet<String>();
+            final var path = directory.resolve(subDirectory);
+            if (!Files.isDirectory(path)) {
+                return result;
+            }
+            try (final var files = Files.list(path)) {
+                files
+                        .filter(Files::isRegularFile)
+                        .map(file -> file.getFileName().toString())
+                        .forEach(result::add);
+            } catch (IOException e) {
+                logger.debug("Could not list directory '{}', will check each file", path, e);
+                return null;
+            }
+            return result;
+
+        }
+
+    }
+
+    private static class JarRoot implements Root {
+
+        private final URL jar;
+
+        private final String prefix;
+
+        private final Set<String> files;
+
+        JarRoot(
+                final URL jar,
+                final String prefix,
+                final Set<String> files) {
+
+            this.jar = jar;
+            this.prefix = prefix;
+            this.files = files;
+
+        }
+
+        @Override
+        public Resource find(
+                final String path) {
+
+            if (!files.contains(path)) {
+                return null;
+            }
+            try {
+                return new UrlResource("jar:" + jar + "!/" + prefix + path);
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.vanillabp.springboot.parameters;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Converts values using a Jackson {@link ObjectReader} built once for the parameter's type.
+ * Separated from {@link TaskParameterConverters} to load Jackson classes only if available.
+ */
+class JacksonTaskParameterConverter implements TaskParameterConverter {
+
+    private static ObjectMapper defaultObjectMapper;
+
+    private final ResolvableType type;
+
+    private final ObjectMapper objectMapper;
+
+    private final JavaType javaType;
+
+    private final ObjectReader objectReader;
+
+    // values being an instance of the raw type need no conversion if the type's
+    // generics do not restrict elements, otherwise they are converted once by Jackson
+    private final Class<?> passThroughType;
+
+    private JacksonTaskParameterConverter(
+            final ResolvableType type,
+            final ObjectMapper objectMapper) {
+
+        this.type = type;
+        this.objectMapper = objectMapper;
+        this.javaType = objectMapper.constructType(type.getType());
+        this.objectReader = objectMapper.readerFor(javaType);
+        this.passThroughType = hasRestrictingGenerics(type)
+                ? null
+                : type.resolve(Object.class);
+
+    }
+
+    static TaskParameterConverter forType(
+            final ResolvableType type,
+            final BeanFactory beanFactory) {
+
+        final var objectMapper = beanFactory == null
+                ? getDefaultObjectMapper()
+                : beanFactory
+                        .getBeanProvider(ObjectMapper.class)
+                        .getIfAvailable(JacksonTaskParameterConverter::getDefaultObjectMapper);
+
+        return new JacksonTaskParameterConverter(type, objectMapper);
+
+    }
+
+    private static synchronized ObjectMapper getDefaultObjectMapper() {
+
+        if (defaultObjectMapper == null) {
+            defaultObjectMapper = new ObjectMapper().findAndRegisterModules();
+        }
+        return defaultObjectMapper;
+
+    }
+
+    private static boolean hasRestrictingGenerics(
+            final ResolvableType type) {
+
+        for (final var generic : type.getGenerics()) {
+            final var resolved = generic.resolve();
+            if ((resolved != null)
+                    && (resolved != Object.class)) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+    @Override
+    public Object convert(
+            final Object value) {
+
+        if ((value == null)
+                || ((passThroughType != null) && passThroughType.isInstance(value))) {
+            return value;
+        }
+
+        try {
+            if (value instanceof String) {
+                return objectReader.readValue((String) value);
+            }
+            if (value instanceof JsonNode) {
+                return objectReader.readValue((JsonNode) value);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Could not convert task parameter to '"
+                    + type
+                    + "'", e);
+        }
+        return objectMapper.convertValue(value, javaType);
+
+    }
+
+}
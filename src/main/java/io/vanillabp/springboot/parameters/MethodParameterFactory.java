@@ -2,6 +2,7 @@ package io.vanillabp.springboot.parameters;
 
 import io.vanillabp.spi.service.MultiInstanceElementResolver;
 import io.vanillabp.spi.service.TaskEvent;
+import java.lang.reflect.Type;
 
 public class MethodParameterFactory {
 
@@ -57,6 +58,21 @@ public class MethodParameterFactory {
         return new TaskParameter(index, parameter, name);
 
     }
+
+    /**
+     * Builds the parameter converting values into the declared type. Adapters
+     * providing their own task parameters have to override this method as well.
+     */
+    public TaskParameter getTaskParameter(
+            final int index,
+            final String parameter,
+            final String name,
+            final Type type,
+            final TaskParameterConverter converter) {
+
+        return new TaskParameter(index, parameter, name, type, converter);
+
+    }
     
     public TaskIdMethodParameter getTaskIdParameter(
             final int index,
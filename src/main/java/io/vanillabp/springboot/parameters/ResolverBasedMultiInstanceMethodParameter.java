@@ -1,11 +1,63 @@
 package io.vanillabp.springboot.parameters;
 
 import io.vanillabp.spi.service.MultiInstanceElementResolver;
+import io.vanillabp.springboot.adapter.IdBasedMultiInstanceElementResolver;
+import io.vanillabp.springboot.adapter.PureMultiInstanceElementResolver;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class ResolverBasedMultiInstanceMethodParameter extends MethodParameter {
 
+    /**
+     * Results are cached per workflow aggregate id and indexes only, since
+     * aggregates are loaded again by every job and retry.
+     */
+    private static final class ResultKey {
+
+        private final Object workflowAggregateId;
+
+        private final int[] indexes;
+
+        private ResultKey(
+                final Object workflowAggregateId,
+                final int[] indexes) {
+
+            this.workflowAggregateId = workflowAggregateId;
+            this.indexes = indexes;
+
+        }
+
+        @Override
+        public boolean equals(
+                final Object obj) {
+
+            if (!(obj instanceof ResultKey)) {
+                return false;
+            }
+            final var other = (ResultKey) obj;
+            return workflowAggregateId.equals(other.workflowAggregateId)
+                    && Arrays.equals(indexes, other.indexes);
+
+        }
+
+        @Override
+        public int hashCode() {
+
+            return 31 * workflowAggregateId.hashCode() + Arrays.hashCode(indexes);
+
+        }
+
+    }
+
     protected final MultiInstanceElementResolver<?, ?> resolverBean;
 
+    protected final String[] names;
+
+    protected final boolean idBased;
+
+    private final Map<ResultKey, Object> results;
+
     public ResolverBasedMultiInstanceMethodParameter(
             final int index,
             final String parameter,
@@ -13,11 +65,93 @@ public class ResolverBasedMultiInstanceMethodParameter extends MethodParameter {
 
         super(index, parameter);
         this.resolverBean = resolverBean;
+
+        final var resolverNames = resolverBean.getNames();
+        this.names = resolverNames == null
+                ? new String[0]
+                : resolverNames.toArray(String[]::new);
+        this.idBased = resolverBean instanceof IdBasedMultiInstanceElementResolver;
+
+        // results of resolvers using the workflow aggregate are not cached, since
+        // they are memoized within one invocation (see MultiInstanceContext) and
+        // aggregates are not shared between invocations
+        if (idBased
+                && (resolverBean instanceof PureMultiInstanceElementResolver)) {
+            final var cacheSize = ((PureMultiInstanceElementResolver<?, ?>) resolverBean).getCacheSize();
+            this.results = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<ResultKey, Object> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        } else {
+            this.results = null;
+        }
         
     }
     
     public MultiInstanceElementResolver<?, ?> getResolverBean() {
         return resolverBean;
     }
+
+    /**
+     * @return The resolver's names of multi-instances captured at wiring time.
+     */
+    public String[] getNames() {
+        return names;
+    }
+
+    /**
+     * @return Whether the resolver needs the workflow aggregate's id only.
+     * @see IdBasedMultiInstanceElementResolver
+     */
+    public boolean isIdBased() {
+        return idBased;
+    }
+
+    /**
+     * @return Whether results of the resolver may be cached.
+     * @see PureMultiInstanceElementResolver
+     */
+    public boolean isCachingResults() {
+        return results != null;
+    }
+
+    /**
+     * @param workflowAggregateId The workflow aggregate's id
+     * @param indexes The multi-instances' indexes
+     * @return The result previously resolved for the same workflow aggregate
+     *         id and indexes or <i>null</i>
+     */
+    public Object getCachedResult(
+            final Object workflowAggregateId,
+            final int[] indexes) {
+
+        if ((results == null)
+                || (workflowAggregateId == null)) {
+            return null;
+        }
+        synchronized (results) {
+            return results.get(new ResultKey(workflowAggregateId, indexes));
+        }
+
+    }
+
+    public void cacheResult(
+            final Object workflowAggregateId,
+            final int[] indexes,
+            final Object result) {
+
+        if ((results == null)
+                || (workflowAggregateId == null)
+                || (result == null)) {
+            return;
+        }
+        synchronized (results) {
+            results.put(new ResultKey(workflowAggregateId, indexes), result);
+        }
+
+    }
     
 }
@@ -3,12 +3,12 @@ package io.vanillabp.springboot.parameters;
 import io.vanillabp.spi.service.TaskEvent;
 import io.vanillabp.spi.service.TaskEvent.Event;
 
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
 public class TaskEventMethodParameter extends MethodParameter {
 
-    private final Set<TaskEvent.Event> events;
+    private final EnumSet<TaskEvent.Event> events;
 
     public TaskEventMethodParameter(
             final int index,
@@ -17,7 +17,7 @@ public class TaskEventMethodParameter extends MethodParameter {
 
         super(index, parameter);
         
-        events = new HashSet<Event>();
+        events = EnumSet.noneOf(Event.class);
         
         for (final var event : annotationParameter) {
 
@@ -37,5 +37,16 @@ public class TaskEventMethodParameter extends MethodParameter {
         return events;
 
     }
+
+    /**
+     * @param event The event occurred
+     * @return Whether the event is subscribed
+     */
+    public boolean accepts(
+            final TaskEvent.Event event) {
+
+        return events.contains(event);
+
+    }
     
 }
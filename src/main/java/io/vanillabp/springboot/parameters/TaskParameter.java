@@ -1,14 +1,62 @@
 package io.vanillabp.springboot.parameters;
 
+import java.lang.reflect.Type;
+
 public class TaskParameter extends NameBasedMethodParameter {
 
+    private final Type type;
+
+    private final TaskParameterConverter converter;
+
     public TaskParameter(
             final int index,
             final String parameter,
             final String name) {
         
-        super(index, parameter, name);
+        this(index, parameter, name, Object.class, TaskParameterConverter.IDENTITY);
         
     }
 
+    public TaskParameter(
+            final int index,
+            final String parameter,
+            final String name,
+            final Type type,
+            final TaskParameterConverter converter) {
+
+        super(index, parameter, name);
+        this.type = type;
+        this.converter = converter;
+
+    }
+
+    /**
+     * @return The parameter's declared type including generics
+     */
+    public Type getType() {
+
+        return type;
+
+    }
+
+    /**
+     * @param value The raw value provided by the adapter
+     * @return The value converted into the parameter's declared type
+     */
+    public Object convert(
+            final Object value) {
+
+        try {
+            return converter.convert(value);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Could not convert value of task parameter '"
+                    + getName()
+                    + "' into '"
+                    + type.getTypeName()
+                    + "'", e);
+        }
+
+    }
+
 }
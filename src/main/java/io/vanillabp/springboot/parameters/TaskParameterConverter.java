@@ -0,0 +1,17 @@
+package io.vanillabp.springboot.parameters;
+
+/**
+ * Converts the raw value of a task parameter as provided by the adapter
+ * into the type declared by the workflow task's method parameter. Converters
+ * are chosen once at wiring time.
+ *
+ * @see TaskParameterConverters#forType(java.lang.reflect.Type, org.springframework.beans.factory.BeanFactory)
+ */
+@FunctionalInterface
+public interface TaskParameterConverter {
+
+    TaskParameterConverter IDENTITY = value -> value;
+
+    Object convert(Object value);
+
+}
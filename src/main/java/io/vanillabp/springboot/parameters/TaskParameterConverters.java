@@ -0,0 +1,331 @@
+package io.vanillabp.springboot.parameters;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Determines the {@link TaskParameterConverter} for a task parameter's declared type:
+ * <ul>
+ * <li>primitives are unboxed (<i>null</i> is rejected since it means the variable is missing)</li>
+ * <li>numbers are converted to the numeric type declared if this is possible without
+ *     losing digits or range, otherwise the conversion fails</li>
+ * <li>scalars (e.g. numbers, enums, UUIDs) are converted to strings, other values are rejected</li>
+ * <li>enums, {@link UUID}s and <code>java.time</code> types are parsed from strings</li>
+ * <li>other types (e.g. POJOs) are read by a Jackson <code>ObjectReader</code> if Jackson is in classpath</li>
+ * </ul>
+ * Values already matching the declared type are passed through.
+ */
+public final class TaskParameterConverters {
+
+    private static final boolean JACKSON_PRESENT = ClassUtils.isPresent(
+            "com.fasterxml.jackson.databind.ObjectMapper",
+            TaskParameterConverters.class.getClassLoader());
+
+    private TaskParameterConverters() {
+        // static class: hide public constructor
+    }
+
+    /**
+     * @param type The declared type of the parameter (including generics)
+     * @param beanFactory Used to retrieve the application's Jackson <code>ObjectMapper</code>, may be <i>null</i>
+     * @return The converter
+     */
+    public static TaskParameterConverter forType(
+            final Type type,
+            final BeanFactory beanFactory) {
+
+        final var resolvableType = ResolvableType.forType(type);
+        final var rawType = resolvableType.resolve(Object.class);
+
+        if (rawType == Object.class) {
+            return TaskParameterConverter.IDENTITY;
+        }
+        if (rawType.isPrimitive()) {
+            return forPrimitive(rawType);
+        }
+        if (Number.class.isAssignableFrom(rawType)) {
+            return forNumber(rawType);
+        }
+        if (rawType == Boolean.class) {
+            return passThroughOr(Boolean.class, value -> value instanceof String
+                    ? Boolean.valueOf((String) value)
+                    : value);
+        }
+        if (rawType == Character.class) {
+            return passThroughOr(Character.class, TaskParameterConverters::toCharacter);
+        }
+        if (rawType == String.class) {
+            return passThroughOr(String.class, TaskParameterConverters::toString);
+        }
+        if (rawType.isEnum()) {
+            return forEnum(rawType);
+        }
+        if (rawType == UUID.class) {
+            return passThroughOr(UUID.class, value -> value instanceof String
+                    ? UUID.fromString((String) value)
+                    : value);
+        }
+        final var javaTimeConverter = forJavaTime(rawType);
+        if (javaTimeConverter != null) {
+            return javaTimeConverter;
+        }
+        if (JACKSON_PRESENT) {
+            return JacksonTaskParameterConverter.forType(resolvableType, beanFactory);
+        }
+        return TaskParameterConverter.IDENTITY;
+
+    }
+
+    private static TaskParameterConverter passThroughOr(
+            final Class<?> type,
+            final Function<Object, Object> conversion) {
+
+        return value -> {
+            if ((value == null) || type.isInstance(value)) {
+                return value;
+            }
+            return conversion.apply(value);
+        };
+
+    }
+
+    private static TaskParameterConverter forPrimitive(
+            final Class<?> type) {
+
+        final TaskParameterConverter converter;
+        if (type == boolean.class) {
+            converter = forType(Boolean.class, null);
+        } else if (type == char.class) {
+            converter = forType(Character.class, null);
+        } else {
+            converter = forNumber(ClassUtils.resolvePrimitiveIfNecessary(type));
+        }
+        return value -> {
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "No value given for primitive type '"
+                        + type.getName()
+                        + "'");
+            }
+            return converter.convert(value);
+        };
+
+    }
+
+    private static Object toCharacter(
+            final Object value) {
+
+        if (!(value instanceof String)) {
+            return value;
+        }
+        final var string = (String) value;
+        if (string.length() != 1) {
+            throw new IllegalArgumentException(
+                    "Expected a string of one character but got '"
+                    + string
+                    + "'");
+        }
+        return Character.valueOf(string.charAt(0));
+
+    }
+
+    private static Object toString(
+            final Object value) {
+
+        if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        }
+        if ((value instanceof CharSequence)
+                || (value instanceof Number)
+                || (value instanceof Boolean)
+                || (value instanceof Character)
+                || (value instanceof UUID)
+                || (value instanceof TemporalAccessor)
+                || (value instanceof Duration)) {
+            return value.toString();
+        }
+        throw new IllegalArgumentException(
+                "Cannot convert value of type '"
+                + value.getClass().getName()
+                + "' into a string");
+
+    }
+
+    private static TaskParameterConverter forNumber(
+            final Class<?> type) {
+
+        final Function<BigDecimal, Object> conversion;
+        final Function<String, Object> parse;
+        if (type == Integer.class) {
+            conversion = BigDecimal::intValueExact;
+            parse = Integer::valueOf;
+        } else if (type == Long.class) {
+            conversion = BigDecimal::longValueExact;
+            parse = Long::valueOf;
+        } else if (type == Double.class) {
+            conversion = number -> toFloatingPoint(number, number.doubleValue());
+            parse = Double::valueOf;
+        } else if (type == Float.class) {
+            conversion = number -> toFloatingPoint(number, number.floatValue());
+            parse = Float::valueOf;
+        } else if (type == Short.class) {
+            conversion = BigDecimal::shortValueExact;
+            parse = Short::valueOf;
+        } else if (type == Byte.class) {
+            conversion = BigDecimal::byteValueExact;
+            parse = Byte::valueOf;
+        } else if (type == BigDecimal.class) {
+            conversion = number -> number;
+            parse = BigDecimal::new;
+        } else if (type == BigInteger.class) {
+            conversion = BigDecimal::toBigIntegerExact;
+            parse = BigInteger::new;
+        } else {
+            return TaskParameterConverter.IDENTITY;
+        }
+
+        return passThroughOr(type, value -> {
+            if (value instanceof Number) {
+                return conversion.apply(toBigDecimal((Number) value));
+            }
+            if (value instanceof String) {
+                return parse.apply(((String) value).trim());
+            }
+            return value;
+        });
+
+    }
+
+    /**
+     * @return The number given as BigDecimal to convert it without silently losing digits
+     */
+    private static BigDecimal toBigDecimal(
+            final Number number) {
+
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        if ((number instanceof Double)
+                || (number instanceof Float)) {
+            if (Double.isNaN(number.doubleValue())
+                    || Double.isInfinite(number.doubleValue())) {
+                throw new ArithmeticException("Cannot convert '" + number + "' into a numeric type");
+            }
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.valueOf(number.longValue());
+
+    }
+
+    /**
+     * @return The result if it represents the number exactly (e.g. not a long above 2^53 as double)
+     */
+    private static Object toFloatingPoint(
+            final BigDecimal number,
+            final Number result) {
+
+        if (Double.isInfinite(result.doubleValue())) {
+            throw new ArithmeticException("'" + number + "' is out of range of " + result.getClass().getSimpleName());
+        }
+        if (new BigDecimal(result.toString()).compareTo(number) != 0) {
+            throw new ArithmeticException("'" + number + "' cannot be represented exactly as "
+                    + result.getClass().getSimpleName());
+        }
+        return result;
+
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static TaskParameterConverter forEnum(
+            final Class<?> type) {
+
+        final var enumType = (Class<? extends Enum>) type;
+        return passThroughOr(type, value -> value instanceof String
+                ? Enum.valueOf(enumType, (String) value)
+                : value);
+
+    }
+
+    private static TaskParameterConverter forJavaTime(
+            final Class<?> type) {
+
+        if (type == LocalDate.class) {
+            return passThroughOr(type, value -> value instanceof String
+                    ? LocalDate.parse((String) value)
+                    : value);
+        }
+        if (type == LocalDateTime.class) {
+            return passThroughOr(type, value -> value instanceof String
+                    ? LocalDateTime.parse((String) value)
+                    : value);
+        }
+        if (type == LocalTime.class) {
+            return passThroughOr(type, value -> value instanceof String
+                    ? LocalTime.parse((String) value)
+                    : value);
+        }
+        if (type == OffsetDateTime.class) {
+            return passThroughOr(type, value -> {
+                if (value instanceof String) {
+                    return OffsetDateTime.parse((String) value);
+                }
+                if (value instanceof Date) {
+                    return ((Date) value).toInstant().atOffset(ZoneOffset.UTC);
+                }
+                return value;
+            });
+        }
+        if (type == ZonedDateTime.class) {
+            return passThroughOr(type, value -> {
+                if (value instanceof String) {
+                    return ZonedDateTime.parse((String) value);
+                }
+                if (value instanceof Date) {
+                    return ((Date) value).toInstant().atZone(ZoneOffset.UTC);
+                }
+                return value;
+            });
+        }
+        if (type == Instant.class) {
+            return passThroughOr(type, value -> {
+                if (value instanceof String) {
+                    return Instant.parse((String) value);
+                }
+                if (value instanceof Number) {
+                    return Instant.ofEpochMilli(((Number) value).longValue());
+                }
+                if (value instanceof Date) {
+                    return ((Date) value).toInstant();
+                }
+                return value;
+            });
+        }
+        if (type == Duration.class) {
+            return passThroughOr(type, value -> value instanceof String
+                    ? Duration.parse((String) value)
+                    : value);
+        }
+        return null;
+
+    }
+
+}
@@ -1,9 +1,11 @@
 package io.vanillabp.springboot.utils;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.function.Predicate;
 
 import org.slf4j.Logger;
@@ -21,7 +23,9 @@ public class ClasspathScanner {
 
     private static Logger logger = LoggerFactory.getLogger(ClasspathScanner.class);
 
-    private static final Map<String, Resource[]> cache = new HashMap<>();
+    // key: class loader resolving "classpath*:" locations, value: resources by search path;
+    // class loaders are weakly referenced to not keep those of restarted applications (DevTools)
+    private static final Map<ClassLoader, Map<String, Resource[]>> cache = new WeakHashMap<>();
 
     private ClasspathScanner() {
         // static class: hide public constructor
@@ -36,6 +40,42 @@ public class ClasspathScanner {
     	}
     }
     
+    /**
+     * Drops all scan results. Called once the application started, since
+     * scans are only needed on startup (see {@link ClasspathScannerCacheRelease}).
+     */
+    public static void clearCache() {
+
+        synchronized (cache) {
+            cache.clear();
+        }
+
+    }
+
+    private static Resource[] getResources(
+            final ResourcePatternResolver resourcePatternResolver,
+            final String searchPath) throws IOException {
+
+        final var classLoader = resourcePatternResolver.getClassLoader();
+        synchronized (cache) {
+            final var resources = cache
+                    .computeIfAbsent(classLoader, loader -> new HashMap<>())
+                    .get(searchPath);
+            if (resources != null) {
+                return resources;
+            }
+        }
+
+        final var resources = resourcePatternResolver.getResources(searchPath);
+        synchronized (cache) {
+            cache
+                    .computeIfAbsent(classLoader, loader -> new HashMap<>())
+                    .putIfAbsent(searchPath, resources);
+        }
+        return resources;
+
+    }
+
     @SafeVarargs
     public static List<Resource> allResources(
     		final Predicate<Resource>... filters) throws Exception {
@@ -72,15 +112,7 @@ public class ClasspathScanner {
                 + (basePath == null ? "" : basePath)
                 + "/**/*";
         
-        final Resource[] resources;
-        synchronized (cache) {
-            final var cachedResources = cache.get(searchPath);
-            if (cachedResources != null) {
-                resources = cachedResources;
-            } else {
-                resources = getResourcePatternResolver(resourceLoader).getResources(searchPath);
-            }
-        }
+        final var resources = getResources(getResourcePatternResolver(resourceLoader), searchPath);
         
         final List<Resource> result = new LinkedList<>();
         
@@ -123,18 +155,10 @@ public class ClasspathScanner {
 
 		final List<Class<?>> classes = new LinkedList<>();
 		
-		final var resourcePatternResolver = getResourcePatternResolver(null);
+		final var resourcePatternResolver = getResourcePatternResolver(resourceLoader);
 	    final var metadataReaderFactory = new CachingMetadataReaderFactory(resourcePatternResolver);
 
-        final Resource[] resources;
-        synchronized (cache) {
-            final var cachedResources = cache.get(packageSearchPath);
-            if (cachedResources != null) {
-                resources = cachedResources;
-            } else {
-                resources = resourcePatternResolver.getResources(packageSearchPath);
-            }
-        }
+        final var resources = getResources(resourcePatternResolver, packageSearchPath);
 
 		for (Resource resource : resources) {
 			if (resource.isReadable()) {
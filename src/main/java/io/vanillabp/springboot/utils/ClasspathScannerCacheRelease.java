@@ -0,0 +1,21 @@
+package io.vanillabp.springboot.utils;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Drops the scan results of {@link ClasspathScanner} once the application
+ * started, so full classpath listings are not kept for the JVM's lifetime.
+ * Scans requested afterwards are done again.
+ */
+public class ClasspathScannerCacheRelease implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(
+            final ApplicationReadyEvent event) {
+
+        ClasspathScanner.clearCache();
+
+    }
+
+}
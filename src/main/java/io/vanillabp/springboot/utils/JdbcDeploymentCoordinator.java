@@ -0,0 +1,342 @@
+package io.vanillabp.springboot.utils;
+
+import io.vanillabp.springboot.adapter.DeploymentCoordinator;
+import io.vanillabp.springboot.adapter.VanillaBpProperties;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Elects one instance per adapter, workflow module and module hash to deploy
+ * by inserting a row into a lock table. The unique key lets only one insert
+ * succeed. The other instances poll the row until the elected instance marks
+ * it as completed. If the elected instance fails, the row is removed and the
+ * next instance takes over. While deploying, the elected instance refreshes
+ * the row's UPDATED_AT. If the elected instance died, one of the waiting
+ * instances takes over the row by a conditional update once UPDATED_AT is
+ * older than the stale timeout. If waiting times out, the instance deploys
+ * on its own.
+ * <p>
+ * The table has to be created upfront:
+ * <pre>
+ * CREATE TABLE VANILLABP_DEPLOYMENTS (
+ *     ADAPTER_ID VARCHAR(255) NOT NULL,
+ *     WORKFLOW_MODULE_ID VARCHAR(255) NOT NULL,
+ *     MODULE_HASH VARCHAR(64) NOT NULL,
+ *     OWNER VARCHAR(255) NOT NULL,
+ *     STATE VARCHAR(16) NOT NULL,
+ *     UPDATED_AT TIMESTAMP NOT NULL,
+ *     PRIMARY KEY (ADAPTER_ID, WORKFLOW_MODULE_ID, MODULE_HASH)
+ * );
+ * </pre>
+ */
+public class JdbcDeploymentCoordinator implements DeploymentCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcDeploymentCoordinator.class);
+
+    private static final String STATE_RUNNING = "RUNNING";
+
+    private static final String STATE_COMPLETED = "COMPLETED";
+
+    // SQL state class of integrity constraint violations
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
+
+    private final DataSource dataSource;
+
+    private final String owner;
+
+    private final String tableName;
+
+    private final Duration pollInterval;
+
+    private final Duration waitTimeout;
+
+    private final Duration staleTimeout;
+
+    public JdbcDeploymentCoordinator(
+            final DataSource dataSource,
+            final String owner,
+            final VanillaBpProperties.DeploymentCoordinationProperties properties) {
+
+        this.dataSource = dataSource;
+        this.owner = owner;
+        this.tableName = properties.getTableName();
+        this.pollInterval = properties.getPollInterval();
+        this.waitTimeout = properties.getWaitTimeout();
+        this.staleTimeout = properties.getStaleTimeout();
+
+    }
+
+    @Override
+    public void deploy(
+            final String adapterId,
+            final String workflowModuleId,
+            final String moduleHash,
+            final Deployment deployment) throws Exception {
+
+        final var deadline = Instant.now().plus(waitTimeout);
+
+        while (Instant.now().isBefore(deadline)) {
+
+            if (tryAcquire(adapterId, workflowModuleId, moduleHash)) {
+                logger.debug("Elected to deploy workflow module '{}' of adapter '{}'",
+                        workflowModuleId, adapterId);
+                deployElected(adapterId, workflowModuleId, moduleHash, deployment);
+                return;
+            }
+
+            final var row = getState(adapterId, workflowModuleId, moduleHash);
+            final var state = row == null ? null : row.getKey();
+            if (STATE_COMPLETED.equals(state)) {
+                logger.debug("Workflow module '{}' of adapter '{}' was deployed by another instance",
+                        workflowModuleId, adapterId);
+                deployment.deploy(true);
+                return;
+            }
+            if (state == null) {
+                // the elected instance failed, so retry election immediately
+                continue;
+            }
+            if (row.getValue().toInstant().isBefore(Instant.now().minus(staleTimeout))
+                    && tryTakeOver(adapterId, workflowModuleId, moduleHash)) {
+                logger.info("Took over stale deployment of workflow module '{}' of adapter '{}'",
+                        workflowModuleId, adapterId);
+                deployElected(adapterId, workflowModuleId, moduleHash, deployment);
+                return;
+            }
+
+            Thread.sleep(pollInterval.toMillis());
+
+        }
+
+        logger.warn("Timeout waiting for deployment of workflow module '{}' of adapter '{}' by another instance, "
+                + "will deploy on my own", workflowModuleId, adapterId);
+        // the row is owned by the other instance which marks it as completed
+        deployment.deploy(false);
+
+    }
+
+    private void deployElected(
+            final String adapterId,
+            final String workflowModuleId,
+            final String moduleHash,
+            final Deployment deployment) throws Exception {
+
+        final var heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "vanillabp-deployment-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final var ownershipLost = new AtomicBoolean(false);
+        final var interval = Math.max(1, staleTimeout.toMillis() / 3);
+        heartbeat.scheduleWithFixedDelay(
+                () -> {
+                    if (!heartbeat(adapterId, workflowModuleId, moduleHash)) {
+                        ownershipLost.set(true);
+                        heartbeat.shutdown();
+                    }
+                },
+                interval,
+                interval,
+                TimeUnit.MILLISECONDS);
+
+        try {
+            deployment.deploy(false);
+        } catch (Exception e) {
+            heartbeat.shutdownNow();
+            release(adapterId, workflowModuleId, moduleHash);
+            throw e;
+        }
+        heartbeat.shutdownNow();
+
+        // the row is not touched once taken over, since the instance which took over
+        // deploys as well and marks the row as completed on its own
+        if (ownershipLost.get()
+                || !complete(adapterId, workflowModuleId, moduleHash)) {
+            logger.warn("Deployment of workflow module '{}' of adapter '{}' was taken over by another instance "
+                    + "while deploying, leaving completion to that instance", workflowModuleId, adapterId);
+        }
+
+    }
+
+    /**
+     * @return Whether the row is still owned by this instance
+     */
+    private boolean heartbeat(
+            final String adapterId,
+            final String workflowModuleId,
+            final String moduleHash) {
+
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.prepareStatement(
+                     "UPDATE " + tableName
+                     + " SET UPDATED_AT = ?"
+                     + " WHERE ADAPTER_ID = ? AND WORKFLOW_MODULE_ID = ? AND MODULE_HASH = ?"
+                     + " AND OWNER = ? AND STATE = ?")) {
+
+            connection.setAutoCommit(true);
+            statement.setTimestamp(1, Timestamp.from(Instant.now()));
+            statement.setString(2, adapterId);
+            statement.setString(3, workflowModuleId);
+            statement.setString(4, moduleHash);
+            statement.setString(5, owner);
+            statement.setString(6, STATE_RUNNING);
+            return statement.executeUpdate() == 1;
+
+        } catch (SQLException e) {
+            logger.warn("Could not refresh deployment lock of workflow module '{}' of adapter '{}'",
+                    workflowModuleId, adapterId, e);
+            // ownership is checked again by the next heartbeat or on completion
+            return true;
+        }
+
+    }
+
+    /**
+     * Takes over the row of a crashed instance. The update only succeeds
+     * for one of the instances, since it refreshes UPDATED_AT and therefore
+     * the row is not stale anymore for the others.
+     */
+    private boolean tryTakeOver(
+            final String adapterId,
+            final String workflowModuleId,
+            final String moduleHash) throws SQLException {
+
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.prepareStatement(
+                     "UPDATE " + tableName
+                     + " SET OWNER = ?, UPDATED_AT = ?"
+                     + " WHERE ADAPTER_ID = ? AND WORKFLOW_MODULE_ID = ? AND MODULE_HASH = ?"
+                     + " AND STATE = ? AND UPDATED_AT < ?")) {
+
+            connection.setAutoCommit(true);
+            statement.setString(1, owner);
+            statement.setTimestamp(2, Timestamp.from(Instant.now()));
+            statement.setString(3, adapterId);
+            statement.setString(4, workflowModuleId);
+            statement.setString(5, moduleHash);
+            statement.setString(6, STATE_RUNNING);
+            statement.setTimestamp(7, Timestamp.from(Instant.now().minus(staleTimeout)));
+            return statement.executeUpdate() == 1;
+
+        }
+
+    }
+
+    private boolean tryAcquire(
+            final String adapterId,
+            final String workflowModuleId,
+            final String moduleHash) throws SQLException {
+
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.prepareStatement(
+                     "INSERT INTO " + tableName
+                     + " (ADAPTER_ID, WORKFLOW_MODULE_ID, MODULE_HASH, OWNER, STATE, UPDATED_AT)"
+                     + " VALUES (?, ?, ?, ?, ?, ?)")) {
+
+            connection.setAutoCommit(true);
+            statement.setString(1, adapterId);
+            statement.setString(2, workflowModuleId);
+            statement.setString(3, moduleHash);
+            statement.setString(4, owner);
+            statement.setString(5, STATE_RUNNING);
+            statement.setTimestamp(6, Timestamp.from(Instant.now()));
+            statement.executeUpdate();
+            return true;
+
+        } catch (SQLException e) {
+            if ((e.getSQLState() != null)
+                    && e.getSQLState().startsWith(INTEGRITY_CONSTRAINT_VIOLATION)) {
+                return false;
+            }
+            throw e;
+        }
+
+    }
+
+    /**
+     * @return The row's state (key) and UPDATED_AT (value) or <i>null</i> if there is no row
+     */
+    private Map.Entry<String, Timestamp> getState(
+            final String adapterId,
+            final String workflowModuleId,
+            final String moduleHash) throws SQLException {
+
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.prepareStatement(
+                     "SELECT STATE, UPDATED_AT FROM " + tableName
+                     + " WHERE ADAPTER_ID = ? AND WORKFLOW_MODULE_ID = ? AND MODULE_HASH = ?")) {
+
+            statement.setString(1, adapterId);
+            statement.setString(2, workflowModuleId);
+            statement.setString(3, moduleHash);
+            try (final var result = statement.executeQuery()) {
+                return result.next() ? Map.entry(result.getString(1), result.getTimestamp(2)) : null;
+            }
+
+        }
+
+    }
+
+    /**
+     * @return Whether the row was still owned by this instance and is marked as completed
+     */
+    private boolean complete(
+            final String adapterId,
+            final String workflowModuleId,
+            final String moduleHash) throws SQLException {
+
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.prepareStatement(
+                     "UPDATE " + tableName
+                     + " SET STATE = ?, UPDATED_AT = ?"
+                     + " WHERE ADAPTER_ID = ? AND WORKFLOW_MODULE_ID = ? AND MODULE_HASH = ?"
+                     + " AND OWNER = ? AND STATE = ?")) {
+
+            connection.setAutoCommit(true);
+            statement.setString(1, STATE_COMPLETED);
+            statement.setTimestamp(2, Timestamp.from(Instant.now()));
+            statement.setString(3, adapterId);
+            statement.setString(4, workflowModuleId);
+            statement.setString(5, moduleHash);
+            statement.setString(6, owner);
+            statement.setString(7, STATE_RUNNING);
+            return statement.executeUpdate() == 1;
+
+        }
+
+    }
+
+    private void release(
+            final String adapterId,
+            final String workflowModuleId,
+            final String moduleHash) {
+
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.prepareStatement(
+                     "DELETE FROM " + tableName
+                     + " WHERE ADAPTER_ID = ? AND WORKFLOW_MODULE_ID = ? AND MODULE_HASH = ? AND OWNER = ?")) {
+
+            connection.setAutoCommit(true);
+            statement.setString(1, adapterId);
+            statement.setString(2, workflowModuleId);
+            statement.setString(3, moduleHash);
+            statement.setString(4, owner);
+            statement.executeUpdate();
+
+        } catch (SQLException e) {
+            logger.warn("Could not release deployment lock of workflow module '{}' of adapter '{}'",
+                    workflowModuleId, adapterId, e);
+        }
+
+    }
+
+}
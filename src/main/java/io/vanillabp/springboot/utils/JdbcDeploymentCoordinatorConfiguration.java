@@ -0,0 +1,43 @@
+package io.vanillabp.springboot.utils;
+
+import io.vanillabp.springboot.ModuleAndWorkerAwareSpringApplication;
+import io.vanillabp.springboot.adapter.DeploymentCoordinator;
+import io.vanillabp.springboot.adapter.VanillaBpProperties;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@AutoConfigureAfter(name = "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration")
+@ConditionalOnProperty(prefix = VanillaBpProperties.PREFIX + ".deployment-coordination", name = "enabled", havingValue = "true")
+@ConditionalOnBean(DataSource.class)
+@ConditionalOnMissingBean(DeploymentCoordinator.class)
+@EnableConfigurationProperties(VanillaBpProperties.class)
+public class JdbcDeploymentCoordinatorConfiguration {
+
+    @Bean
+    public DeploymentCoordinator jdbcDeploymentCoordinator(
+            final DataSource dataSource,
+            final VanillaBpProperties properties,
+            final Environment environment) {
+
+        // the worker-id identifies the instance, see ModuleAndWorkerAwareSpringApplication
+        final var owner = environment.getProperty(
+                ModuleAndWorkerAwareSpringApplication.WORKER_ID_PROPERTY_NAME,
+                UUID.randomUUID().toString());
+
+        return new JdbcDeploymentCoordinator(
+                dataSource,
+                owner,
+                properties.getDeploymentCoordination());
+
+    }
+
+}
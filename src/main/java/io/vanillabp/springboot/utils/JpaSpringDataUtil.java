@@ -1,26 +1,46 @@
 package io.vanillabp.springboot.utils;
 
 import io.vanillabp.springboot.adapter.SpringDataUtil;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.Id;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.jpa.repository.JpaContext;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.core.EntityInformation;
 import org.springframework.data.repository.support.Repositories;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ReflectionUtils;
 
 public class JpaSpringDataUtil implements SpringDataUtil {
 
-    private static final Map<Class<?>, JpaRepository<?, Object>> REPOSITORY_MAP = new HashMap<>();
+    private static final String HINT_FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+
+    // entities loaded read-only by the current transaction which were not managed before
+    private static final Object READ_ONLY_LOADS = new Object();
+
+    private static final Map<Class<?>, JpaRepository<?, Object>> REPOSITORY_MAP = new ConcurrentHashMap<>();
     
-    private static final Map<Class<?>, EntityInformation<?, Object>> ENTITYINFO_MAP = new HashMap<>();
+    private static final Map<Class<?>, EntityInformation<?, Object>> ENTITYINFO_MAP = new ConcurrentHashMap<>();
     
     private final ApplicationContext applicationContext;
 
@@ -166,6 +186,286 @@ public class JpaSpringDataUtil implements SpringDataUtil {
 
     }
     
+    /**
+     * Outside of transactions the repository's read-only transaction is used, which
+     * sets Hibernate's flush-mode to MANUAL. Versioned entities are loaded from the
+     * read replica if configured (see {@link ReplicaRouting}). Inside of transactions the entity is
+     * loaded into the transaction's persistence context as usual, since other tasks
+     * of the same transaction may modify it. If it was not managed before, it is
+     * marked read-only to exclude it from dirty-checking on flush and detached on
+     * {@link #release(Object)}.
+     * A given entity graph or fetch plan is applied as a JPA fetch graph.
+     */
+    @Override
+    public <O> O findById(
+            final Class<O> type,
+            final Object id,
+            final boolean readOnly,
+            final String entityGraph,
+            final Collection<String> fetchPlan) {
+
+        final var hasFetchGraph = (entityGraph != null)
+                || ((fetchPlan != null) && !fetchPlan.isEmpty());
+        final var inTransaction = readOnly
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive();
+        if (!hasFetchGraph
+                && !inTransaction) {
+            // outside of transactions read-only loads of versioned entities are routed
+            // to the read replica and the version is checked against the primary
+            if (readOnly
+                    && ReplicaRouting.isEnabled()
+                    && isVersioned(type)) {
+                return ReplicaRouting.onReplica(
+                        () -> getRepository(type)
+                                .findById(id)
+                                .orElse(null),
+                        entity -> Objects.equals(getVersion(entity), findVersion(type, id)));
+            }
+            return makeWritable(getRepository(type)
+                    .findById(id)
+                    .orElse(null));
+        }
+
+        final var em = jpaContext
+                .getEntityManagerByManagedType(type);
+        final var managedBefore = inTransaction
+                && isManaged(em, type, id);
+        final var hints = new HashMap<String, Object>();
+        if (hasFetchGraph) {
+            hints.put(HINT_FETCH_GRAPH, getEntityGraph(em, type, entityGraph, fetchPlan));
+        }
+        final var result = unproxy(em.find(type, id, hints));
+        if (inTransaction
+                && !managedBefore
+                && (result != null)) {
+            // excluded from dirty-checking by flushes during the task
+            em.unwrap(Session.class).setReadOnly(result, true);
+            getReadOnlyLoads().add(result);
+        } else if (!readOnly) {
+            makeWritable(result);
+        }
+        return result;
+
+    }
+
+    /**
+     * Entities loaded read-only by a previous task of the same transaction
+     * and not released yet are modifiable again if loaded for writing.
+     */
+    private <O> O makeWritable(
+            final O entity) {
+
+        if ((entity == null)
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return entity;
+        }
+        @SuppressWarnings("unchecked")
+        final var readOnlyLoads = (Set<Object>) TransactionSynchronizationManager.getResource(READ_ONLY_LOADS);
+        if ((readOnlyLoads != null)
+                && readOnlyLoads.remove(entity)) {
+            jpaContext
+                    .getEntityManagerByManagedType(Hibernate.getClass(entity))
+                    .unwrap(Session.class)
+                    .setReadOnly(entity, false);
+        }
+        return entity;
+
+    }
+
+    private static boolean isManaged(
+            final EntityManager em,
+            final Class<?> type,
+            final Object id) {
+
+        final var session = em.unwrap(SessionImplementor.class);
+        final var persister = session
+                .getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(type);
+        return session
+                .getPersistenceContextInternal()
+                .getEntity(session.generateEntityKey(id, persister)) != null;
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Object> getReadOnlyLoads() {
+
+        final var existing = (Set<Object>) TransactionSynchronizationManager.getResource(READ_ONLY_LOADS);
+        if (existing != null) {
+            return existing;
+        }
+
+        final var readOnlyLoads = Collections.newSetFromMap(new IdentityHashMap<>());
+        TransactionSynchronizationManager.bindResource(READ_ONLY_LOADS, readOnlyLoads);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(
+                    final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(READ_ONLY_LOADS);
+            }
+        });
+        return readOnlyLoads;
+
+    }
+
+    /**
+     * Detaches entities loaded read-only by this transaction, unless they were managed
+     * before. Entities used by other tasks of the transaction are left untouched.
+     */
+    @Override
+    public void release(
+            final Object entity) {
+
+        detach(entity);
+
+    }
+
+    /**
+     * Outside of transactions entities are detached already. Inside of transactions
+     * only entities loaded read-only by this transaction which were not managed
+     * before are detached.
+     */
+    @Override
+    public boolean detach(
+            final Object entity) {
+
+        final var em = jpaContext
+                .getEntityManagerByManagedType(Hibernate.getClass(entity));
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return !em.contains(entity);
+        }
+        @SuppressWarnings("unchecked")
+        final var readOnlyLoads = (Set<Object>) TransactionSynchronizationManager.getResource(READ_ONLY_LOADS);
+        if ((readOnlyLoads == null)
+                || !readOnlyLoads.remove(entity)) {
+            return !em.contains(entity);
+        }
+
+        em.detach(entity);
+        return true;
+
+    }
+
+    private static <O> EntityGraph<?> getEntityGraph(
+            final EntityManager em,
+            final Class<O> type,
+            final String entityGraph,
+            final Collection<String> fetchPlan) {
+
+        if (entityGraph != null) {
+            return em.getEntityGraph(entityGraph);
+        }
+
+        final var graph = em.createEntityGraph(type);
+        for (final var path : fetchPlan) {
+            final var attributes = path.split("\\.");
+            if (attributes.length == 1) {
+                graph.addAttributeNodes(attributes[0]);
+                continue;
+            }
+            var subgraph = graph.addSubgraph(attributes[0]);
+            for (int i = 1; i < attributes.length - 1; ++i) {
+                subgraph = subgraph.addSubgraph(attributes[i]);
+            }
+            subgraph.addAttributeNodes(attributes[attributes.length - 1]);
+        }
+        return graph;
+
+    }
+
+    private boolean isVersioned(
+            final Class<?> type) {
+
+        return getVersionAttribute(jpaContext
+                .getEntityManagerByManagedType(type)
+                .getMetamodel()
+                .entity(type)) != null;
+
+    }
+
+    private SingularAttribute<?, ?> getVersionAttribute(
+            final EntityType<?> entityType) {
+
+        if (!entityType.hasVersionAttribute()) {
+            return null;
+        }
+        return entityType
+                .getSingularAttributes()
+                .stream()
+                .filter(SingularAttribute::isVersion)
+                .findFirst()
+                .orElse(null);
+
+    }
+
+    @Override
+    public Object getVersion(
+            final Object entity) {
+
+        final var type = Hibernate.getClass(entity);
+        final var versionAttribute = getVersionAttribute(jpaContext
+                .getEntityManagerByManagedType(type)
+                .getMetamodel()
+                .entity(type));
+        if (versionAttribute == null) {
+            return null;
+        }
+
+        final var member = versionAttribute.getJavaMember();
+        if (member instanceof Field field) {
+            ReflectionUtils.makeAccessible(field);
+            return ReflectionUtils.getField(field, unproxy(entity));
+        }
+        if (member instanceof Method method) {
+            ReflectionUtils.makeAccessible(method);
+            return ReflectionUtils.invokeMethod(method, entity);
+        }
+        return null;
+
+    }
+
+    @Override
+    public Object findVersion(
+            final Class<?> type,
+            final Object id) {
+
+        final var em = jpaContext
+                .getEntityManagerByManagedType(type);
+        final var entityType = em
+                .getMetamodel()
+                .entity(type);
+        final var versionAttribute = getVersionAttribute(entityType);
+        final var idAttribute = entityType
+                .getSingularAttributes()
+                .stream()
+                .filter(SingularAttribute::isId)
+                .findFirst();
+        if ((versionAttribute == null)
+                || idAttribute.isEmpty()) {
+            return null;
+        }
+
+        return em
+                .createQuery("select e."
+                        + versionAttribute.getName()
+                        + " from "
+                        + entityType.getName()
+                        + " e where e."
+                        + idAttribute.get().getName()
+                        + " = :id",
+                        Object.class)
+                .setParameter("id", id)
+                // a result stream cannot be used outside of transactions
+                // because the entity manager is closed after execution
+                .getResultList()
+                .stream()
+                .findFirst()
+                .orElse(null);
+
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <O> O unproxy(
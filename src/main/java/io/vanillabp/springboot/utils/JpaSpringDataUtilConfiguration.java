@@ -2,6 +2,9 @@ package io.vanillabp.springboot.utils;
 
 import io.vanillabp.springboot.adapter.SpringDataUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +13,9 @@ import org.springframework.data.jpa.repository.JpaContext;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 
 @Configuration
+@AutoConfigureAfter(name = "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration")
+@ConditionalOnClass(name = "org.springframework.data.jpa.repository.JpaContext")
+@ConditionalOnBean(type = "org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean")
 @ConditionalOnMissingBean(SpringDataUtil.class)
 public class JpaSpringDataUtilConfiguration {
 
@@ -1,13 +1,23 @@
 package io.vanillabp.springboot.utils;
 
 import io.vanillabp.springboot.adapter.SpringDataUtil;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.convert.DbRefResolver;
 import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
@@ -15,20 +25,44 @@ import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveCallback;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.repository.support.Repositories;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
 
 public class MongoDbSpringDataUtil implements SpringDataUtil {
 
-    private static final Map<Class<?>, MongoRepository<?, Object>> REPOSITORY_MAP = new HashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(MongoDbSpringDataUtil.class);
 
-    private static final Map<Class<?>, MongoPersistentEntity<?>> PERSISTENT_ENTITY_MAP_MAP = new HashMap<>();
+    private static final String ID_FIELD = "_id";
+
+    private static final Map<Class<?>, MongoRepository<?, Object>> REPOSITORY_MAP = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, MongoPersistentEntity<?>> PERSISTENT_ENTITY_MAP_MAP = new ConcurrentHashMap<>();
 
     private final ApplicationContext applicationContext;
 
     private final MongoConverter mongoConverter;
 
+    private final SingleFlight<Map.Entry<Class<?>, Object>, Document> sharedLoads = new SingleFlight<>();
+
+    // callbacks and listeners (e.g. auditing) which a partial update would bypass
+    private static final List<Class<?>> SAVE_CALLBACKS = List.of(
+            BeforeConvertCallback.class,
+            BeforeSaveCallback.class,
+            AfterSaveCallback.class,
+            AbstractMongoEventListener.class);
+
+    private volatile Boolean saveCallbacksRegistered;
+
     public MongoDbSpringDataUtil(
             final ApplicationContext applicationContext,
             final MongoDatabaseFactory mongoDbFactory,
@@ -151,6 +185,335 @@ public class MongoDbSpringDataUtil implements SpringDataUtil {
 
     }
 
+    /**
+     * A fetch plan is applied as a field projection. Since saving a partially loaded
+     * document would drop the fields not fetched, the projection is only used for
+     * read-only loads.
+     */
+    @Override
+    public <O> O findById(
+            final Class<O> type,
+            final Object id,
+            final boolean readOnly,
+            final String entityGraph,
+            final Collection<String> fetchPlan) {
+
+        final var mongoOperations = !readOnly
+                || (fetchPlan == null)
+                || fetchPlan.isEmpty()
+                ? null
+                : applicationContext
+                        .getBeanProvider(MongoOperations.class)
+                        .getIfUnique();
+        if (mongoOperations == null) {
+            return getRepository(type)
+                    .findById(id)
+                    .orElse(null);
+        }
+
+        final var query = Query.query(Criteria
+                .where(getPersistentEntity(type).getRequiredIdProperty().getName())
+                .is(id));
+        fetchPlan.forEach(query.fields()::include);
+        return mongoOperations.findOne(query, type);
+
+    }
+
+    /**
+     * The raw document is loaded once for concurrent callers and converted for
+     * each caller individually. A caller never shares a load started before its
+     * call (see {@link SingleFlight}), so changes committed before are visible.
+     * <p>
+     * Entity callbacks (e.g. {@code AfterConvertCallback}) and lifecycle events
+     * (e.g. {@code AfterLoadEvent}) of MongoTemplate are skipped for entities
+     * loaded this way.
+     */
+    @Override
+    public <O> O findByIdShared(
+            final Class<O> type,
+            final Object id) {
+
+        final var mongoOperations = applicationContext
+                .getBeanProvider(MongoOperations.class)
+                .getIfUnique();
+        if (mongoOperations == null) {
+            return findById(type, id, false);
+        }
+
+        final var persistentEntity = getPersistentEntity(type);
+        final var idProperty = persistentEntity.getRequiredIdProperty();
+        final var converter = mongoOperations.getConverter();
+        final var document = sharedLoads.execute(
+                Map.entry(type, id),
+                () -> mongoOperations.findOne(
+                        Query.query(Criteria
+                                .where(ID_FIELD)
+                                .is(converter.convertId(id, idProperty.getFieldType()))),
+                        Document.class,
+                        persistentEntity.getCollection()));
+        if (document == null) {
+            return null;
+        }
+
+        return converter.read(type, document);
+
+    }
+
+    /**
+     * The snapshot is a deep copy of the document as written by the MongoTemplate's
+     * converter. No snapshot is taken if save callbacks, auditing or mapping event
+     * listeners are registered, since partial updates would bypass them.
+     */
+    @Override
+    public Object snapshot(
+            final Object entity) {
+
+        if (isSaveCallbacksRegistered()) {
+            return null;
+        }
+        return toDocument(entity);
+
+    }
+
+    private Document toDocument(
+            final Object entity) {
+
+        final var mongoOperations = applicationContext
+                .getBeanProvider(MongoOperations.class)
+                .getIfUnique();
+        if ((mongoOperations == null)
+                || (entity == null)) {
+            return null;
+        }
+
+        final var document = new Document();
+        mongoOperations.getConverter().write(entity, document);
+        // values like dates are shared with the entity and may be modified in place
+        return (Document) deepCopy(document);
+
+    }
+
+    private static Object deepCopy(
+            final Object value) {
+
+        if (value instanceof Document document) {
+            final var result = new Document();
+            document.forEach((key, item) -> result.put(key, deepCopy(item)));
+            return result;
+        }
+        if (value instanceof Collection<?> collection) {
+            final var result = new ArrayList<>(collection.size());
+            collection.forEach(item -> result.add(deepCopy(item)));
+            return result;
+        }
+        if (value instanceof Date date) {
+            return new Date(date.getTime());
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.clone();
+        }
+        if (value instanceof Binary binary) {
+            return new Binary(binary.getType(), binary.getData().clone());
+        }
+        return value;
+
+    }
+
+    private boolean isSaveCallbacksRegistered() {
+
+        if (saveCallbacksRegistered == null) {
+            saveCallbacksRegistered = SAVE_CALLBACKS
+                    .stream()
+                    .anyMatch(type -> applicationContext.getBeanNamesForType(type, false, false).length > 0);
+        }
+        return saveCallbacksRegistered;
+
+    }
+
+    /**
+     * Instead of rewriting the entire document, the changes since the snapshot was
+     * taken are written by a $set/$unset update guarded by the version field (if
+     * there is one). If the changes cannot be determined or save callbacks, auditing
+     * or mapping event listeners are registered, the entity is saved using its
+     * repository.
+     */
+    @Override
+    public <O> O save(
+            final O entity,
+            final Object snapshot) {
+
+        final var mongoOperations = applicationContext
+                .getBeanProvider(MongoOperations.class)
+                .getIfUnique();
+        if ((mongoOperations == null)
+                || !(snapshot instanceof Document previous)
+                || isSaveCallbacksRegistered()) {
+            return getRepository(entity).save(entity);
+        }
+
+        final var persistentEntity = getPersistentEntity(entity.getClass());
+        final var id = previous.get(ID_FIELD);
+        final var versionProperty = persistentEntity.getVersionProperty();
+        final var version = versionProperty == null ? null : previous.get(versionProperty.getFieldName());
+
+        final var versionType = versionProperty == null
+                ? null
+                : ClassUtils.resolvePrimitiveIfNecessary(versionProperty.getType());
+
+        final Update update;
+        try {
+            update = new Update();
+            final var current = new Document();
+            mongoOperations.getConverter().write(entity, current);
+            if ((id == null)
+                    || !Objects.equals(id, current.get(ID_FIELD))
+                    || ((versionProperty != null) && !(version instanceof Number))
+                    || ((versionType != null) && !Number.class.isAssignableFrom(versionType))) {
+                throw new IllegalStateException("Snapshot does not match entity");
+            }
+            if (!diff("", previous, current, update)) {
+                return entity;
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Could not determine changes of '{}', saving entire document",
+                    entity.getClass().getName(), e);
+            return getRepository(entity).save(entity);
+        }
+
+        final var query = Query.query(Criteria.where(ID_FIELD).is(id));
+        Number nextVersion = null;
+        if (versionProperty != null) {
+            final var versionField = versionProperty.getFieldName();
+            // like Spring Data, the version is incremented in the property's type
+            nextVersion = NumberUtils.convertNumberToTargetClass(
+                    ((Number) version).longValue() + 1,
+                    versionType.asSubclass(Number.class));
+            query.addCriteria(Criteria.where(versionField).is(version));
+            update.set(versionField, mongoOperations.getConverter().convertToMongoType(nextVersion));
+        }
+
+        final var result = mongoOperations.updateFirst(query, update, persistentEntity.getCollection());
+        if (result.getMatchedCount() == 0) {
+            throw new OptimisticLockingFailureException("Cannot update entity '"
+                    + entity.getClass().getName()
+                    + "' with id '"
+                    + id
+                    + "' and version "
+                    + version
+                    + ": was updated in the meantime or deleted!");
+        }
+
+        if (versionProperty != null) {
+            persistentEntity
+                    .getPropertyAccessor(entity)
+                    .setProperty(versionProperty, nextVersion);
+        }
+
+        return entity;
+
+    }
+
+    @Override
+    public Object getVersion(
+            final Object entity) {
+
+        final var persistentEntity = getPersistentEntity(entity.getClass());
+        final var versionProperty = persistentEntity.getVersionProperty();
+        if (versionProperty == null) {
+            return null;
+        }
+        return persistentEntity
+                .getPropertyAccessor(entity)
+                .getProperty(versionProperty);
+
+    }
+
+    @Override
+    public Object findVersion(
+            final Class<?> type,
+            final Object id) {
+
+        final var mongoOperations = applicationContext
+                .getBeanProvider(MongoOperations.class)
+                .getIfUnique();
+        final var persistentEntity = getPersistentEntity(type);
+        final var versionProperty = persistentEntity.getVersionProperty();
+        if ((mongoOperations == null)
+                || (versionProperty == null)) {
+            return null;
+        }
+
+        final var query = Query.query(Criteria
+                .where(ID_FIELD)
+                .is(mongoOperations
+                        .getConverter()
+                        .convertId(id, persistentEntity.getRequiredIdProperty().getFieldType())));
+        query.fields().include(versionProperty.getFieldName());
+        final var document = mongoOperations.findOne(query, Document.class, persistentEntity.getCollection());
+        return document == null ? null : document.get(versionProperty.getFieldName());
+
+    }
+
+    /**
+     * The weight is the length of the entity's document as JSON.
+     */
+    @Override
+    public int getWeight(
+            final Object entity) {
+
+        final var document = toDocument(entity);
+        if (document == null) {
+            return 1;
+        }
+        return Math.max(1, document.toJson().length());
+
+    }
+
+    /**
+     * Collects changed fields by descending into embedded documents. Arrays are
+     * replaced entirely if changed.
+     *
+     * @return Whether there are changes
+     */
+    private static boolean diff(
+            final String prefix,
+            final Document previous,
+            final Document current,
+            final Update update) {
+
+        var changed = false;
+
+        for (final var entry : current.entrySet()) {
+            final var key = entry.getKey();
+            if (key.contains(".")
+                    || key.startsWith("$")) {
+                throw new IllegalStateException("Field '" + key + "' cannot be used in an update path");
+            }
+            final var path = prefix + key;
+            final var value = entry.getValue();
+            if (!previous.containsKey(key)) {
+                update.set(path, value);
+                changed = true;
+            } else if ((value instanceof Document currentValue)
+                    && (previous.get(key) instanceof Document previousValue)) {
+                changed |= diff(path + ".", previousValue, currentValue, update);
+            } else if (!Objects.deepEquals(previous.get(key), value)) {
+                update.set(path, value);
+                changed = true;
+            }
+        }
+
+        for (final var key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                update.unset(prefix + key);
+                changed = true;
+            }
+        }
+
+        return changed;
+
+    }
+
     /**
      * @see "MongoTemplate#getDefaultMongoConverter(MongoDatabaseFactory)"
      */
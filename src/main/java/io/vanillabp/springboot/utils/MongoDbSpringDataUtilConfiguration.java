@@ -0,0 +1,50 @@
+package io.vanillabp.springboot.utils;
+
+import io.vanillabp.springboot.adapter.SpringDataUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoOperations;
+
+/**
+ * Provides a {@link MongoDbSpringDataUtil} using the application's converter
+ * (and therefore its mapping context) if MongoDb is used and no other
+ * {@link SpringDataUtil} (e.g. for JPA) is defined.
+ */
+@Configuration
+@AutoConfigureAfter(
+        value = JpaSpringDataUtilConfiguration.class,
+        name = "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration")
+@ConditionalOnClass(name = "org.springframework.data.mongodb.core.MongoOperations")
+@ConditionalOnBean(type = "org.springframework.data.mongodb.core.MongoOperations")
+@ConditionalOnMissingBean(SpringDataUtil.class)
+public class MongoDbSpringDataUtilConfiguration {
+
+    public static final String BEANNAME_SPRINGDATAUTIL = "mongoDbSpringDataUtil";
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MongoDatabaseFactory mongoDbFactory;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Bean(name = BEANNAME_SPRINGDATAUTIL)
+    public SpringDataUtil mongoDbSpringDataUtil() {
+
+        return new MongoDbSpringDataUtil(
+                applicationContext,
+                mongoDbFactory,
+                mongoOperations.getConverter());
+
+    }
+
+}
@@ -0,0 +1,45 @@
+package io.vanillabp.springboot.utils;
+
+import io.vanillabp.springboot.adapter.VanillaBpProperties;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+/**
+ * Holds the read replica's data source. It is not exposed as a {@link DataSource}
+ * bean to not interfere with the application's data source auto-configuration.
+ * The data source's pool is closed on shutdown.
+ */
+public class ReadReplica implements DisposableBean {
+
+    private final DataSource dataSource;
+
+    public ReadReplica(
+            final VanillaBpProperties.ReadReplicaProperties properties) {
+
+        this.dataSource = DataSourceBuilder
+                .create()
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .driverClassName(properties.getDriverClassName())
+                .build();
+
+    }
+
+    public DataSource getDataSource() {
+
+        return dataSource;
+
+    }
+
+    @Override
+    public void destroy() throws Exception {
+
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+
+    }
+
+}
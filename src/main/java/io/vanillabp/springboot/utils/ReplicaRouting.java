@@ -0,0 +1,94 @@
+package io.vanillabp.springboot.utils;
+
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Marks the current thread's read-only operations to be executed on a read replica.
+ * The mark is evaluated by {@link ReplicaRoutingDataSource} on acquiring a
+ * connection, so it has no effect on connections already bound to a running
+ * transaction.
+ * <p>
+ * Since replicas may lag behind the primary, operations not finding the
+ * requested data (<i>null</i> result or exception) or returning a result not
+ * up to date are retried on the primary. Whether a result is up to date has to
+ * be checked against the primary by the caller (e.g. by comparing versions).
+ * If no replica is configured operations are executed once.
+ */
+public final class ReplicaRouting {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    private static final ThreadLocal<Boolean> replica = new ThreadLocal<>();
+
+    private static volatile boolean enabled = false;
+
+    @FunctionalInterface
+    public interface Operation<R, E extends Exception> {
+
+        R execute() throws E;
+
+    }
+
+    private ReplicaRouting() {
+        // static utility
+    }
+
+    static void setEnabled(
+            final boolean enabled) {
+
+        ReplicaRouting.enabled = enabled;
+
+    }
+
+    public static boolean isEnabled() {
+
+        return enabled;
+
+    }
+
+    public static boolean isReplicaRequested() {
+
+        return Boolean.TRUE.equals(replica.get());
+
+    }
+
+    /**
+     * @param operation The operation to be executed on the replica
+     * @param upToDate Checks the replica's result against the primary, which is
+     *                 used to reload results not up to date due to replication lag
+     * @return The result
+     */
+    public static <R, E extends Exception> R onReplica(
+            final Operation<R, E> operation,
+            final Predicate<R> upToDate) throws E {
+
+        if (!enabled
+                || isReplicaRequested()) {
+            return operation.execute();
+        }
+
+        R result = null;
+        replica.set(Boolean.TRUE);
+        try {
+            result = operation.execute();
+        } catch (Exception e) {
+            logger.debug("Operation on read replica failed, retrying on primary", e);
+        } finally {
+            replica.remove();
+        }
+
+        if (result == null) {
+            logger.debug("Read replica returned no result, retrying on primary");
+        } else if (upToDate.test(result)) {
+            return result;
+        } else {
+            logger.debug("Read replica returned a stale result, retrying on primary");
+        }
+
+        return operation.execute();
+
+    }
+
+}
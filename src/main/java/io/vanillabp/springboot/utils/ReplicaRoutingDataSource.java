@@ -0,0 +1,62 @@
+package io.vanillabp.springboot.utils;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.core.InfrastructureProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * A data source routing connections requested by {@link ReplicaRouting#onReplica(ReplicaRouting.Operation, java.util.function.Predicate)}
+ * to the replica and all others to the primary. Transactional resources are bound
+ * to the primary, so JDBC access to the primary takes part in transactions of
+ * entity managers using this data source.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements InfrastructureProxy {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA = "replica";
+
+    private final DataSource primary;
+
+    public ReplicaRoutingDataSource(
+            final DataSource primary,
+            final DataSource replica) {
+
+        this.primary = primary;
+        setTargetDataSources(Map.of(
+                PRIMARY, primary,
+                REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+    }
+
+    public DataSource getPrimary() {
+
+        return primary;
+
+    }
+
+    @Override
+    public Object getWrappedObject() {
+
+        return primary;
+
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+
+        super.afterPropertiesSet();
+        ReplicaRouting.setEnabled(true);
+
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        return ReplicaRouting.isReplicaRequested() ? REPLICA : PRIMARY;
+
+    }
+
+}
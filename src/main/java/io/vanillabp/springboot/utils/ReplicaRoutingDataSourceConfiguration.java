@@ -0,0 +1,70 @@
+package io.vanillabp.springboot.utils;
+
+import io.vanillabp.springboot.adapter.VanillaBpProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+/**
+ * Routes the data source of JPA entity managers (and therefore the workflow
+ * aggregates) through a {@link ReplicaRoutingDataSource} if a read replica is
+ * configured. The application's data source bean itself is not wrapped, so
+ * BPM engines using it are not affected.
+ *
+ * @see VanillaBpProperties.ReadReplicaProperties
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean")
+@ConditionalOnProperty(prefix = ReplicaRoutingDataSourceConfiguration.PREFIX, name = "url")
+public class ReplicaRoutingDataSourceConfiguration {
+
+    static final String PREFIX = VanillaBpProperties.PREFIX + ".read-replica";
+
+    public static final String BEANNAME_READREPLICA = "vanillaBpReadReplica";
+
+    @Bean(name = BEANNAME_READREPLICA)
+    public ReadReplica vanillaBpReadReplica(
+            final Environment environment) {
+
+        return new ReadReplica(Binder
+                .get(environment)
+                .bind(PREFIX, VanillaBpProperties.ReadReplicaProperties.class)
+                .get());
+
+    }
+
+    @Bean
+    public static BeanPostProcessor vanillaBpReplicaRoutingDataSourcePostProcessor(
+            final ObjectProvider<ReadReplica> readReplica) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(
+                    final Object bean,
+                    final String beanName) {
+
+                if (!(bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactoryBean)
+                        || (entityManagerFactoryBean.getDataSource() == null)
+                        || (entityManagerFactoryBean.getDataSource() instanceof ReplicaRoutingDataSource)) {
+                    return bean;
+                }
+
+                final var routingDataSource = new ReplicaRoutingDataSource(
+                        entityManagerFactoryBean.getDataSource(),
+                        readReplica.getObject().getDataSource());
+                routingDataSource.afterPropertiesSet();
+                entityManagerFactoryBean.setDataSource(routingDataSource);
+                return bean;
+
+            }
+        };
+
+    }
+
+}
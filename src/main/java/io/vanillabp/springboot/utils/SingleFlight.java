@@ -0,0 +1,107 @@
+package io.vanillabp.springboot.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent calls for the same key share one computation. A computation
+ * already running may have read data before a caller's own writes were
+ * committed, so callers never join it. Instead, callers arriving meanwhile
+ * share the next computation which starts once the running one completed.
+ * Therefore each caller gets a result computed after its call (or the
+ * exception of that computation). Nothing is cached after the computation
+ * completed.
+ *
+ * @param <K> The key's type
+ * @param <V> The value's type
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flights<V>> inFlight = new HashMap<>();
+
+    private static class Flights<V> {
+
+        CompletableFuture<V> running;
+
+        CompletableFuture<V> next;
+
+    }
+
+    public V execute(
+            final K key,
+            final Supplier<V> supplier) {
+
+        final var future = new CompletableFuture<V>();
+        final CompletableFuture<V> shared;
+        final CompletableFuture<V> predecessor;
+        synchronized (inFlight) {
+            final var flights = inFlight.get(key);
+            if (flights == null) {
+                final var started = new Flights<V>();
+                started.running = future;
+                inFlight.put(key, started);
+                shared = null;
+                predecessor = null;
+            } else if (flights.next != null) {
+                shared = flights.next;
+                predecessor = null;
+            } else {
+                flights.next = future;
+                shared = null;
+                predecessor = flights.running;
+            }
+        }
+        if (shared != null) {
+            return join(shared);
+        }
+
+        if (predecessor != null) {
+            // wait for the running computation to complete, its outcome is irrelevant
+            predecessor.handle((result, e) -> null).join();
+            synchronized (inFlight) {
+                final var flights = inFlight.get(key);
+                flights.running = future;
+                flights.next = null;
+            }
+        }
+
+        try {
+            final var result = supplier.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (inFlight) {
+                final var flights = inFlight.get(key);
+                if ((flights.running == future)
+                        && (flights.next == null)) {
+                    inFlight.remove(key);
+                }
+            }
+        }
+
+    }
+
+    private V join(
+            final CompletableFuture<V> future) {
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package io.vanillabp.springboot.utils;
+
+import io.vanillabp.spi.service.WorkflowService;
+import io.vanillabp.springboot.adapter.SpringDataUtil;
+import java.util.LinkedHashSet;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Resolves repositories and entity metadata of all workflow aggregate classes
+ * referred by beans annotated with {@link WorkflowService} at startup instead
+ * of on the first task executed.
+ */
+public class SpringDataUtilPrewarming implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpringDataUtilPrewarming.class);
+
+    private final ApplicationContext applicationContext;
+
+    private final ObjectProvider<SpringDataUtil> springDataUtil;
+
+    public SpringDataUtilPrewarming(
+            final ApplicationContext applicationContext,
+            final ObjectProvider<SpringDataUtil> springDataUtil) {
+
+        this.applicationContext = applicationContext;
+        this.springDataUtil = springDataUtil;
+
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        final var util = springDataUtil.getIfUnique();
+        if (util == null) {
+            return;
+        }
+
+        final var workflowAggregateClasses = new LinkedHashSet<Class<?>>();
+        Stream
+                .of(applicationContext.getBeanNamesForAnnotation(WorkflowService.class))
+                .flatMap(beanName -> applicationContext
+                        .findAllAnnotationsOnBean(beanName, WorkflowService.class, false)
+                        .stream())
+                .map(WorkflowService::workflowAggregateClass)
+                .forEach(workflowAggregateClasses::add);
+
+        workflowAggregateClasses.forEach(workflowAggregateClass -> {
+            try {
+                util.getRepository(workflowAggregateClass);
+                util.getIdType(workflowAggregateClass);
+                util.getIdName(workflowAggregateClass);
+            } catch (Exception e) {
+                // reported on wiring the workflow aggregate
+                logger.debug("Could not prewarm workflow aggregate class '{}'",
+                        workflowAggregateClass.getName(), e);
+            }
+        });
+
+        logger.debug("Prewarmed {} workflow aggregate classes", workflowAggregateClasses.size());
+
+    }
+
+}
@@ -0,0 +1,160 @@
+package io.vanillabp.springboot.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vanillabp.springboot.adapter.AdapterAwareProcessServiceConfiguration;
+import io.vanillabp.springboot.adapter.SpringDataUtil;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(
+        classes = ReadOnlyLoadTest.TestApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:readonly;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.generate_statistics=true"
+        })
+public class ReadOnlyLoadTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = AdapterAwareProcessServiceConfiguration.class)
+    @EntityScan(basePackageClasses = ReadOnlyLoadTest.class)
+    @EnableJpaRepositories(basePackageClasses = ReadOnlyLoadTest.class, considerNestedRepositories = true)
+    static class TestApplication {
+    }
+
+    @Entity(name = "ReadOnlyAggregate")
+    public static class ReadOnlyAggregate {
+
+        @Id
+        private String id;
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    public interface ReadOnlyAggregateRepository extends JpaRepository<ReadOnlyAggregate, String> {
+    }
+
+    @Autowired
+    private SpringDataUtil springDataUtil;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM READ_ONLY_AGGREGATE");
+        jdbcTemplate.update("INSERT INTO READ_ONLY_AGGREGATE (ID, NAME) VALUES ('1', 'loaded')");
+
+        statistics = entityManagerFactory
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+    }
+
+    @Test
+    public void testModifiedReadOnlyAggregateIsNotUpdatedOnAutoFlush() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            final var aggregate = springDataUtil.findById(ReadOnlyAggregate.class, "1", true);
+            aggregate.setName("modified");
+            // triggers an auto-flush
+            entityManager
+                    .createQuery("SELECT a FROM ReadOnlyAggregate a", ReadOnlyAggregate.class)
+                    .getResultList();
+        });
+
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(getName()).isEqualTo("loaded");
+
+    }
+
+    @Test
+    public void testModifiedReadOnlyAggregateIsNotUpdatedOnCommit() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            final var aggregate = springDataUtil.findById(ReadOnlyAggregate.class, "1", true);
+            aggregate.setName("modified");
+        });
+
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(getName()).isEqualTo("loaded");
+
+    }
+
+    @Test
+    public void testModifiedWritableAggregateIsUpdated() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            final var aggregate = springDataUtil.findById(ReadOnlyAggregate.class, "1", false);
+            aggregate.setName("modified");
+        });
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(getName()).isEqualTo("modified");
+
+    }
+
+    @Test
+    public void testAggregateLoadedForWritingAfterReadOnlyIsUpdated() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+            springDataUtil.findById(ReadOnlyAggregate.class, "1", true);
+            final var aggregate = springDataUtil.findById(ReadOnlyAggregate.class, "1", false);
+            aggregate.setName("modified");
+        });
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(getName()).isEqualTo("modified");
+
+    }
+
+    private String getName() {
+
+        return jdbcTemplate.queryForObject("SELECT NAME FROM READ_ONLY_AGGREGATE WHERE ID = '1'", String.class);
+
+    }
+
+}
@@ -0,0 +1,156 @@
+package io.vanillabp.springboot.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.vanillabp.springboot.adapter.AdapterAwareProcessServiceConfiguration;
+import io.vanillabp.springboot.adapter.SpringDataUtil;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(
+        classes = ReplicaRoutingTest.TestApplication.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "vanillabp.read-replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1"
+        })
+public class ReplicaRoutingTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = AdapterAwareProcessServiceConfiguration.class)
+    @EntityScan(basePackageClasses = ReplicaRoutingTest.class)
+    @EnableJpaRepositories(basePackageClasses = ReplicaRoutingTest.class, considerNestedRepositories = true)
+    static class TestApplication {
+    }
+
+    @Entity(name = "Aggregate")
+    public static class Aggregate {
+
+        @Id
+        private String id;
+
+        @Version
+        private long version;
+
+        private String source;
+
+        public String getSource() {
+            return source;
+        }
+
+    }
+
+    public interface AggregateRepository extends JpaRepository<Aggregate, String> {
+    }
+
+    @Autowired
+    private SpringDataUtil springDataUtil;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReadReplica readReplica;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    public void setup() {
+
+        primary = new JdbcTemplate(dataSource);
+        replica = new JdbcTemplate(readReplica.getDataSource());
+        replica.execute("CREATE TABLE IF NOT EXISTS AGGREGATE (ID VARCHAR(255) PRIMARY KEY, VERSION BIGINT NOT NULL, SOURCE VARCHAR(255))");
+        primary.update("DELETE FROM AGGREGATE");
+        replica.update("DELETE FROM AGGREGATE");
+
+    }
+
+    @Test
+    public void testUpToDateAggregateIsLoadedFromReplica() {
+
+        primary.update("INSERT INTO AGGREGATE (ID, VERSION, SOURCE) VALUES ('1', 3, 'primary')");
+        replica.update("INSERT INTO AGGREGATE (ID, VERSION, SOURCE) VALUES ('1', 3, 'replica')");
+
+        final var aggregate = springDataUtil.findById(Aggregate.class, "1", true);
+
+        assertThat(aggregate.getSource()).isEqualTo("replica");
+
+    }
+
+    @Test
+    public void testStaleAggregateIsLoadedFromPrimary() {
+
+        primary.update("INSERT INTO AGGREGATE (ID, VERSION, SOURCE) VALUES ('1', 4, 'primary')");
+        replica.update("INSERT INTO AGGREGATE (ID, VERSION, SOURCE) VALUES ('1', 3, 'replica')");
+
+        final var aggregate = springDataUtil.findById(Aggregate.class, "1", true);
+
+        assertThat(aggregate.getSource()).isEqualTo("primary");
+
+    }
+
+    @Test
+    public void testMissingAggregateIsLoadedFromPrimary() {
+
+        primary.update("INSERT INTO AGGREGATE (ID, VERSION, SOURCE) VALUES ('1', 0, 'primary')");
+
+        final var aggregate = springDataUtil.findById(Aggregate.class, "1", true);
+
+        assertThat(aggregate.getSource()).isEqualTo("primary");
+
+    }
+
+    @Test
+    public void testWritableAggregateIsLoadedFromPrimary() {
+
+        primary.update("INSERT INTO AGGREGATE (ID, VERSION, SOURCE) VALUES ('1', 3, 'primary')");
+        replica.update("INSERT INTO AGGREGATE (ID, VERSION, SOURCE) VALUES ('1', 3, 'replica')");
+
+        final var aggregate = springDataUtil.findById(Aggregate.class, "1", false);
+
+        assertThat(aggregate.getSource()).isEqualTo("primary");
+
+    }
+
+    @Test
+    public void testApplicationDataSourceIsNotRouted() {
+
+        assertThat(dataSource).isNotInstanceOf(ReplicaRoutingDataSource.class);
+
+    }
+
+    @Test
+    public void testReplicaIsClosedOnShutdown() {
+
+        final var context = new SpringApplicationBuilder(TestApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:shutdown",
+                        "vanillabp.read-replica.url=jdbc:h2:mem:shutdown-replica")
+                .run();
+        final var replicaDataSource = (HikariDataSource) context
+                .getBean(ReadReplica.class)
+                .getDataSource();
+
+        context.close();
+
+        assertThat(replicaDataSource.isClosed()).isTrue();
+
+    }
+
+}